@@ -0,0 +1,45 @@
+package ru.practicum.shareit.threads;
+
+import java.util.concurrent.ExecutorService;
+
+import org.apache.coyote.ProtocolHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class RequestThreadsConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(RequestThreadsConfig.class);
+
+    @Test
+    void platformModeShouldKeepTomcatThreadPool() {
+        contextRunner
+                .withPropertyValues(RequestThreadsConfig.PROPERTY + "=platform")
+                .run(context -> {
+                    assertNull(context.getStartupFailure());
+                    assertTrue(context.getBeansOfType(TomcatProtocolHandlerCustomizer.class).isEmpty());
+                });
+    }
+
+    @Test
+    void virtualModeShouldHandRequestsToVirtualThreadExecutor() {
+        contextRunner
+                .withPropertyValues(RequestThreadsConfig.PROPERTY + "=virtual")
+                .run(context -> {
+                    assertNull(context.getStartupFailure());
+
+                    ProtocolHandler protocolHandler = mock(ProtocolHandler.class);
+                    ExecutorService requestExecutor = context.getBean(ExecutorService.class);
+
+                    context.getBean(TomcatProtocolHandlerCustomizer.class).customize(protocolHandler);
+
+                    verify(protocolHandler).setExecutor(requestExecutor);
+                    assertTrue(requestExecutor.submit(() -> Thread.currentThread().isVirtual()).get());
+                });
+    }
+}
@@ -1,10 +1,15 @@
 package ru.practicum.shareit.booking;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -22,9 +27,12 @@ import ru.practicum.shareit.headers.WithUserHeaderID;
 
 @Slf4j
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Validated
 @RequestMapping(path = "/bookings")
 public class BookingController  implements WithUserHeaderID {
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final BookingClient bookingClient;
 
     @Autowired
@@ -41,6 +49,15 @@ public class BookingController  implements WithUserHeaderID {
         return bookingClient.add(userId, bookingDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> addAll(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @NotEmpty @Size(max = MAX_BATCH_SIZE) @RequestBody List<@Valid BookItemRequestDto> bookingDtos) {
+        log.info("Request to add user {} bookings, count {}", userId, bookingDtos.size());
+
+        return bookingClient.addAll(userId, bookingDtos);
+    }
+
     @PatchMapping("{bookingId}")
     public ResponseEntity<Object> update(
             @RequestHeader(HEADER_USER_ID) Long userId,
@@ -65,13 +82,15 @@ public class BookingController  implements WithUserHeaderID {
             @RequestHeader(HEADER_USER_ID) Long userId,
             @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
             @RequestParam(value = "from", defaultValue = "0") @Min(0) Integer from,
-            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size) {
+            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size,
+            @RequestParam(value = "after", required = false) String after) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalStateException("Unknown state: " + stateParam));
 
-        log.info("Request to load user {} bookings in state {}, from={}, size={}", userId, state, from, size);
+        log.info("Request to load user {} bookings in state {}, from={}, size={}, after={}",
+                userId, state, from, size, after);
 
-        return bookingClient.findAllByBookerId(userId, state, from, size);
+        return bookingClient.findAllByBookerId(userId, state, from, size, after);
     }
 
     @GetMapping("/owner")
@@ -79,12 +98,14 @@ public class BookingController  implements WithUserHeaderID {
             @RequestHeader(HEADER_USER_ID) Long userId,
             @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
             @RequestParam(value = "from", defaultValue = "0") @Min(0) Integer from,
-            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size) {
+            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size,
+            @RequestParam(value = "after", required = false) String after) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalStateException("Unknown state: " + stateParam));
 
-        log.info("Request to load user {} bookings items in state {}, from={}, size={}", userId, state, from, size);
+        log.info("Request to load user {} bookings items in state {}, from={}, size={}, after={}",
+                userId, state, from, size, after);
 
-        return bookingClient.findAllByOwnerId(userId, state, from, size);
+        return bookingClient.findAllByOwnerId(userId, state, from, size, after);
     }
 }
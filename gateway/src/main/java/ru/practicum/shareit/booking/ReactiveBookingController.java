@@ -0,0 +1,112 @@
+package ru.practicum.shareit.booking;
+
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.headers.WithUserHeaderID;
+
+@Slf4j
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Validated
+@RequestMapping(path = "/bookings")
+public class ReactiveBookingController  implements WithUserHeaderID {
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private final ReactiveBookingClient bookingClient;
+
+    @Autowired
+    public ReactiveBookingController(ReactiveBookingClient bookingClient) {
+        this.bookingClient = bookingClient;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> add(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @Valid @RequestBody BookItemRequestDto bookingDto) {
+        log.info("Request to add user {} booking {}", userId, bookingDto);
+
+        return bookingClient.add(userId, bookingDto);
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> addAll(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @NotEmpty @Size(max = MAX_BATCH_SIZE) @RequestBody List<@Valid BookItemRequestDto> bookingDtos) {
+        log.info("Request to add user {} bookings, count {}", userId, bookingDtos.size());
+
+        return bookingClient.addAll(userId, bookingDtos);
+    }
+
+    @PatchMapping("{bookingId}")
+    public Mono<ResponseEntity<Object>> update(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @PathVariable("bookingId") Long bookingId,
+            @RequestParam(name = "approved") Boolean approved) {
+        log.info("Request to update user {} approve {} booking {}", userId, approved, bookingId);
+
+        return bookingClient.update(userId, bookingId, approved);
+    }
+
+    @GetMapping("{bookingId}")
+    public Mono<ResponseEntity<Object>> findByUserIdAndBookingId(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @PathVariable("bookingId") Long bookingId) {
+        log.info("Request to load user {} booking with id {}", userId, bookingId);
+
+        return bookingClient.findByUserIdAndBookingId(userId, bookingId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> findAllByBookerId(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+            @RequestParam(value = "from", defaultValue = "0") @Min(0) Integer from,
+            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size,
+            @RequestParam(value = "after", required = false) String after) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalStateException("Unknown state: " + stateParam));
+
+        log.info("Request to load user {} bookings in state {}, from={}, size={}, after={}",
+                userId, state, from, size, after);
+
+        return bookingClient.findAllByBookerId(userId, state, from, size, after);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Object>> findAllByOwnerId(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+            @RequestParam(value = "from", defaultValue = "0") @Min(0) Integer from,
+            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size,
+            @RequestParam(value = "after", required = false) String after) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalStateException("Unknown state: " + stateParam));
+
+        log.info("Request to load user {} bookings items in state {}, from={}, size={}, after={}",
+                userId, state, from, size, after);
+
+        return bookingClient.findAllByOwnerId(userId, state, from, size, after);
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.client;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.springframework.lang.Nullable;
+
+// AIMD: grow the limit by one while it is in use and calls are fast, cut it on slow or failed calls.
+// A cut happens at most once per round trip: calls admitted before the last cut already ran under the old limit,
+// so their slow responses say nothing new and must not shrink the limit again.
+public class AdaptiveConcurrencyLimiter {
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final long latencyThresholdNanos;
+
+    private final double backoffRatio;
+
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+
+    private long decreases;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties.Limit properties) {
+        this(properties, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties.Limit properties, LongSupplier nanoClock) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.latencyThresholdNanos = properties.getLatencyThreshold().toNanos();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.nanoClock = nanoClock;
+        this.limit = properties.getInitialLimit();
+    }
+
+    @Nullable
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+
+            if (current >= limit) {
+                return null;
+            }
+
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(currentDecreases(), nanoClock.getAsLong());
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized long currentDecreases() {
+        return decreases;
+    }
+
+    private void release(Permit permit, boolean dropped) {
+        long latencyNanos = nanoClock.getAsLong() - permit.startedNanos;
+        int wasInFlight = inFlight.getAndDecrement();
+
+        synchronized (this) {
+            if (dropped || latencyNanos > latencyThresholdNanos) {
+                if (permit.decreases == decreases) {
+                    limit = Math.max(minLimit, (int) (limit * backoffRatio));
+                    decreases++;
+                }
+            } else if (wasInFlight * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    public final class Permit {
+        private final long decreases;
+
+        private final long startedNanos;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long decreases, long startedNanos) {
+            this.decreases = decreases;
+            this.startedNanos = startedNanos;
+        }
+
+        // Safe to call more than once; only the first call counts
+        public void release(boolean dropped) {
+            if (released.compareAndSet(false, true)) {
+                AdaptiveConcurrencyLimiter.this.release(this, dropped);
+            }
+        }
+    }
+}
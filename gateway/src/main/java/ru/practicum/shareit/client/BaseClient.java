@@ -2,10 +2,12 @@ package ru.practicum.shareit.client;
 
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
@@ -16,8 +18,16 @@ import ru.practicum.shareit.headers.WithUserHeaderID;
 public class BaseClient implements WithUserHeaderID {
     protected final RestTemplate rest;
 
+    @Nullable
+    private final SingleFlight singleFlight;
+
     public BaseClient(RestTemplate rest) {
+        this(rest, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable SingleFlight singleFlight) {
         this.rest = rest;
+        this.singleFlight = singleFlight;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -32,6 +42,20 @@ public class BaseClient implements WithUserHeaderID {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    protected ResponseEntity<Object> getShared(String route, String path, Long userId, @Nullable Map<String, Object> parameters) {
+        if (singleFlight == null || !singleFlight.isEnabled(route)) {
+            return get(path, userId, parameters);
+        }
+
+        String key = String.join(" ",
+                route,
+                path,
+                parameters != null ? new TreeMap<>(parameters).toString() : "",
+                String.valueOf(userId));
+
+        return singleFlight.execute(route, key, () -> get(path, userId, parameters));
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -83,17 +107,20 @@ public class BaseClient implements WithUserHeaderID {
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return prepareGatewayResponse(
+                shareitServerResponse.getStatusCode(),
+                shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -106,15 +133,17 @@ public class BaseClient implements WithUserHeaderID {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    // The server body is relayed as raw bytes, so the gateway never parses JSON it only forwards.
+    // End-to-end headers such as X-Next-Cursor pass through; hop-by-hop framing headers do not.
+    private static ResponseEntity<Object> prepareGatewayResponse(
+            HttpStatus status,
+            @Nullable HttpHeaders headers,
+            @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status)
+                .headers(RelayedHeaders.endToEnd(headers));
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
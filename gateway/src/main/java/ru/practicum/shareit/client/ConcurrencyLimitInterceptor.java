@@ -0,0 +1,80 @@
+package ru.practicum.shareit.client;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import ru.practicum.shareit.exceptions.UpstreamOverloadedException;
+
+public class ConcurrencyLimitInterceptor implements ClientHttpRequestInterceptor {
+    private static final String METRIC = "shareit.gateway.concurrency";
+
+    private final AdaptiveConcurrencyLimiter readLimiter;
+
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+
+    private final Counter readRejections;
+
+    private final Counter writeRejections;
+
+    private final Duration retryAfter;
+
+    public ConcurrencyLimitInterceptor(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.readLimiter = new AdaptiveConcurrencyLimiter(properties.getRead());
+        this.writeLimiter = new AdaptiveConcurrencyLimiter(properties.getWrite());
+        this.readRejections = meterRegistry.counter(METRIC + ".rejected", "kind", "read");
+        this.writeRejections = meterRegistry.counter(METRIC + ".rejected", "kind", "write");
+        this.retryAfter = properties.getRetryAfter();
+
+        bindGauges(meterRegistry, "read", readLimiter);
+        bindGauges(meterRegistry, "write", writeLimiter);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        boolean read = request.getMethod() == HttpMethod.GET;
+        AdaptiveConcurrencyLimiter limiter = read ? readLimiter : writeLimiter;
+
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+
+        if (permit == null) {
+            (read ? readRejections : writeRejections).increment();
+
+            throw new UpstreamOverloadedException(
+                    String.format("Too many concurrent %s requests to the server", read ? "read" : "write"),
+                    retryAfter);
+        }
+
+        ClientHttpResponse response = null;
+
+        try {
+            response = execution.execute(request, body);
+
+            return new PermitReleasingResponse(response, permit, response.getRawStatusCode() >= 500);
+        } catch (IOException | RuntimeException e) {
+            if (response != null) {
+                response.close();
+            }
+            permit.release(true);
+
+            throw e;
+        }
+    }
+
+    private static void bindGauges(MeterRegistry meterRegistry, String kind, AdaptiveConcurrencyLimiter limiter) {
+        Gauge.builder(METRIC + ".limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("kind", kind)
+                .register(meterRegistry);
+        Gauge.builder(METRIC + ".in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+}
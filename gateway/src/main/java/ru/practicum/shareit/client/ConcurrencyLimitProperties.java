@@ -0,0 +1,29 @@
+package ru.practicum.shareit.client;
+
+import java.time.Duration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.concurrency-limit")
+public class ConcurrencyLimitProperties {
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    private Limit read = new Limit();
+
+    private Limit write = new Limit();
+
+    @Data
+    public static class Limit {
+        private int initialLimit = 20;
+
+        private int minLimit = 1;
+
+        private int maxLimit = 200;
+
+        private Duration latencyThreshold = Duration.ofMillis(500);
+
+        private double backoffRatio = 0.9;
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.client;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties({HttpClientProperties.class, ConcurrencyLimitProperties.class})
+public class HttpClientConfig {
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean
+    public MeteredConnectionManager shareitServerConnectionManager(
+            HttpClientProperties properties,
+            MeterRegistry meterRegistry) {
+        Timer leaseWait = Timer.builder("httpcomponents.httpclient.pool.lease.wait")
+                .description("Time spent waiting for a pooled connection to the server")
+                .tag("httpclient", POOL_NAME)
+                .register(meterRegistry);
+
+        MeteredConnectionManager connectionManager = new MeteredConnectionManager(leaseWait);
+        connectionManager.setMaxTotal(properties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+        connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME).bindTo(meterRegistry);
+
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient shareitServerHttpClient(
+            MeteredConnectionManager shareitServerConnectionManager,
+            HttpClientProperties properties) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                .setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(shareitServerConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(keepAliveStrategy(properties.getKeepAlive().toMillis()))
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    // Every client call to the server passes the adaptive concurrency limit before it takes a pooled connection.
+    @Bean
+    public ClientHttpRequestFactory shareitServerRequestFactory(
+            CloseableHttpClient shareitServerHttpClient,
+            ConcurrencyLimitProperties concurrencyLimitProperties,
+            MeterRegistry meterRegistry) {
+        return new InterceptingClientHttpRequestFactory(
+                new HttpComponentsClientHttpRequestFactory(shareitServerHttpClient),
+                List.of(new ConcurrencyLimitInterceptor(concurrencyLimitProperties, meterRegistry)));
+    }
+
+    // Honour a shorter Keep-Alive timeout from the server, otherwise cap idle reuse at the configured value.
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(long keepAliveMillis) {
+        return (response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+
+            return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveMillis) : keepAliveMillis;
+        };
+    }
+}
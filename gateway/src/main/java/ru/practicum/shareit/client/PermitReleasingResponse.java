@@ -0,0 +1,68 @@
+package ru.practicum.shareit.client;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+// Keeps the concurrency permit until the body has been read and the response closed,
+// so body transfer counts against the limit and into the measured latency.
+class PermitReleasingResponse implements ClientHttpResponse {
+    private final ClientHttpResponse delegate;
+
+    private final AdaptiveConcurrencyLimiter.Permit permit;
+
+    private final boolean dropped;
+
+    PermitReleasingResponse(ClientHttpResponse delegate, AdaptiveConcurrencyLimiter.Permit permit, boolean dropped) {
+        this.delegate = delegate;
+        this.permit = permit;
+        this.dropped = dropped;
+    }
+
+    @Override
+    public HttpStatus getStatusCode() throws IOException {
+        return delegate.getStatusCode();
+    }
+
+    @Override
+    public int getRawStatusCode() throws IOException {
+        return delegate.getRawStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+        return delegate.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return delegate.getHeaders();
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+        return new FilterInputStream(delegate.getBody()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    permit.release(dropped);
+                }
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        try {
+            delegate.close();
+        } finally {
+            permit.release(dropped);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.client;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+
+final class RelayedHeaders {
+    // Framing and connection headers belong to a single hop; the gateway's own server sets them for the client
+    private static final Set<String> HOP_BY_HOP = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        HOP_BY_HOP.addAll(Set.of(
+                HttpHeaders.CONNECTION,
+                "Keep-Alive",
+                HttpHeaders.PROXY_AUTHENTICATE,
+                HttpHeaders.PROXY_AUTHORIZATION,
+                HttpHeaders.TE,
+                HttpHeaders.TRAILER,
+                HttpHeaders.TRANSFER_ENCODING,
+                HttpHeaders.UPGRADE,
+                HttpHeaders.CONTENT_LENGTH));
+    }
+
+    private RelayedHeaders() {
+    }
+
+    static HttpHeaders endToEnd(@Nullable HttpHeaders headers) {
+        HttpHeaders relayed = new HttpHeaders();
+
+        if (headers == null) {
+            return relayed;
+        }
+
+        headers.forEach((name, values) -> {
+            if (!HOP_BY_HOP.contains(name)) {
+                relayed.addAll(name, values);
+            }
+        });
+
+        return relayed;
+    }
+}
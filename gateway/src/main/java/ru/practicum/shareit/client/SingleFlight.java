@@ -0,0 +1,78 @@
+package ru.practicum.shareit.client;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class SingleFlight {
+    private static final String METRIC = "shareit.gateway.single.flight.requests";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Set<String> routes;
+
+    private final Map<String, CompletableFuture<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SingleFlight(
+            MeterRegistry meterRegistry,
+            @Value("${shareit-server.single-flight.routes:}") Set<String> routes) {
+        this.meterRegistry = meterRegistry;
+        this.routes = routes;
+    }
+
+    public boolean isEnabled(String route) {
+        return routes.contains(route);
+    }
+
+    // Identical calls that arrive while one is in flight wait for it and share its response.
+    public ResponseEntity<Object> execute(String route, String key, Supplier<ResponseEntity<Object>> call) {
+        CompletableFuture<ResponseEntity<Object>> flight = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> leader = inFlight.putIfAbsent(key, flight);
+
+        if (leader != null) {
+            meterRegistry.counter(METRIC, "route", route, "result", "collapsed").increment();
+
+            return await(leader);
+        }
+
+        meterRegistry.counter(METRIC, "route", route, "result", "sent").increment();
+
+        try {
+            ResponseEntity<Object> response = call.get();
+            flight.complete(response);
+
+            return response;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static ResponseEntity<Object> await(CompletableFuture<ResponseEntity<Object>> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+
+            throw (RuntimeException) e.getCause();
+        }
+    }
+}
@@ -6,17 +6,21 @@ import javax.validation.ConstraintViolationException;
 import javax.validation.ValidationException;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 @Slf4j
 @RestControllerAdvice
 public class ErrorHandler {
     @ExceptionHandler({
             MethodArgumentNotValidException.class,
+            WebExchangeBindException.class,
             ValidationException.class,
             ConstraintViolationException.class
     })
@@ -30,6 +34,30 @@ public class ErrorHandler {
         );
     }
 
+    @ExceptionHandler
+    public ResponseEntity<Map<String, String>> handleUpstreamOverloaded(final UpstreamOverloadedException e) {
+        log.warn("Request shed: {}", e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()))
+                .body(Map.of(
+                        "Error message", "Сервис перегружен.",
+                        "error", e.getMessage()
+                ));
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Map<String, String>> handleRateLimitExceeded(final RateLimitExceededException e) {
+        log.warn("Request rate limited: {}", e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()))
+                .body(Map.of(
+                        "Error message", "Слишком много запросов.",
+                        "error", e.getMessage()
+                ));
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public Map<String, String> handleException(final Throwable e) {
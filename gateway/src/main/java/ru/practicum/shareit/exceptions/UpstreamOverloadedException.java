@@ -0,0 +1,15 @@
+package ru.practicum.shareit.exceptions;
+
+import java.time.Duration;
+
+import lombok.Getter;
+
+@Getter
+public class UpstreamOverloadedException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public UpstreamOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
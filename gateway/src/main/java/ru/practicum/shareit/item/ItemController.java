@@ -1,9 +1,18 @@
 package ru.practicum.shareit.item;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.ValidationException;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -23,8 +32,11 @@ import ru.practicum.shareit.validation.Marker;
 @Slf4j
 @Validated
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/items")
 public class ItemController implements WithUserHeaderID {
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final ItemClient itemClient;
 
     @Autowired
@@ -41,6 +53,18 @@ public class ItemController implements WithUserHeaderID {
         return itemClient.add(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    @Validated(Marker.OnCreate.class)
+    public ResponseEntity<Object> addAll(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @NotEmpty(groups = Marker.OnCreate.class)
+            @Size(max = MAX_BATCH_SIZE, groups = Marker.OnCreate.class)
+            @RequestBody List<@Valid ItemDto> itemDtos) {
+        log.info("Request to add user {} items, count {}", userId, itemDtos.size());
+
+        return itemClient.addAll(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<Object> update(
             @RequestHeader(HEADER_USER_ID) Long userId,
@@ -90,4 +114,19 @@ public class ItemController implements WithUserHeaderID {
 
         return itemClient.addComment(userId, commentDto, itemId);
     }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> findAvailability(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @PathVariable("itemId") Long itemId,
+            @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Availability window start must be before its end");
+        }
+
+        log.info("Request to load user {} item {} availability from {} to {}", userId, itemId, from, to);
+
+        return itemClient.findAvailability(userId, itemId, from, to);
+    }
 }
@@ -0,0 +1,133 @@
+package ru.practicum.shareit.item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.ValidationException;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.headers.WithUserHeaderID;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.validation.Marker;
+
+@Slf4j
+@Validated
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/items")
+public class ReactiveItemController implements WithUserHeaderID {
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private final ReactiveItemClient itemClient;
+
+    @Autowired
+    public ReactiveItemController(ReactiveItemClient itemClient) {
+        this.itemClient = itemClient;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> add(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @Validated(Marker.OnCreate.class) @RequestBody ItemDto itemDto) {
+        log.info("Request to add user {} item {}", userId, itemDto);
+
+        return itemClient.add(userId, itemDto);
+    }
+
+    @PostMapping("/batch")
+    @Validated(Marker.OnCreate.class)
+    public Mono<ResponseEntity<Object>> addAll(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @NotEmpty(groups = Marker.OnCreate.class)
+            @Size(max = MAX_BATCH_SIZE, groups = Marker.OnCreate.class)
+            @RequestBody List<@Valid ItemDto> itemDtos) {
+        log.info("Request to add user {} items, count {}", userId, itemDtos.size());
+
+        return itemClient.addAll(userId, itemDtos);
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> update(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @Validated(Marker.OnUpdate.class) @RequestBody ItemDto itemDto,
+            @PathVariable("itemId") Long itemId) {
+        log.info("Request to update user {} item {} with id {}", userId, itemDto, itemId);
+
+        return itemClient.update(userId, itemId, itemDto);
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> findOneById(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @PathVariable("itemId") Long itemId) {
+        log.info("Request to load user {} item with id {}", userId, itemId);
+
+        return itemClient.findOneById(userId, itemId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> findAllByUserId(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @RequestParam(value = "from", defaultValue = "0") @Min(0) Integer from,
+            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size) {
+        log.info("Request to load user {} items", userId);
+
+        return itemClient.findAllByUserId(userId, from, size);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Object>> search(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @RequestParam(name = "text") String text,
+            @RequestParam(value = "from", defaultValue = "0") @Min(0) Integer from,
+            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size) {
+        log.info("Request to search items with text {}", text);
+
+        return itemClient.search(userId, text, from, size);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<Object>> addComment(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @Validated(Marker.OnCreate.class) @RequestBody CommentDto commentDto,
+            @PathVariable("itemId") Long itemId) {
+        log.info("Request to add user {} comment {} to item with id {}", userId, commentDto, itemId);
+
+        return itemClient.addComment(userId, commentDto, itemId);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> findAvailability(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @PathVariable("itemId") Long itemId,
+            @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Availability window start must be before its end");
+        }
+
+        log.info("Request to load user {} item {} availability from {} to {}", userId, itemId, from, to);
+
+        return itemClient.findAvailability(userId, itemId, from, to);
+    }
+}
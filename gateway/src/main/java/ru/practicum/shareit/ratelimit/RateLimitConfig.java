@@ -0,0 +1,40 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+    @Bean
+    public UserRateLimiter userRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        return new UserRateLimiter(properties, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public RateLimitWebFilter rateLimitWebFilter(UserRateLimiter userRateLimiter, ObjectMapper objectMapper) {
+        return new RateLimitWebFilter(userRateLimiter, objectMapper);
+    }
+
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class ServletRateLimitConfig implements WebMvcConfigurer {
+        private final UserRateLimiter userRateLimiter;
+
+        ServletRateLimitConfig(UserRateLimiter userRateLimiter) {
+            this.userRateLimiter = userRateLimiter;
+        }
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new RateLimitInterceptor(userRateLimiter));
+        }
+    }
+}
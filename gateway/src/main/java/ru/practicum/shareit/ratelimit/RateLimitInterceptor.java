@@ -0,0 +1,22 @@
+package ru.practicum.shareit.ratelimit;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.headers.WithUserHeaderID;
+
+public class RateLimitInterceptor implements HandlerInterceptor, WithUserHeaderID {
+    private final UserRateLimiter userRateLimiter;
+
+    public RateLimitInterceptor(UserRateLimiter userRateLimiter) {
+        this.userRateLimiter = userRateLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        userRateLimiter.acquire(request.getMethod(), request.getRequestURI(), request.getHeader(HEADER_USER_ID));
+
+        return true;
+    }
+}
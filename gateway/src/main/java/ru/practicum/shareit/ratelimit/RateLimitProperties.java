@@ -0,0 +1,28 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.rate-limit")
+public class RateLimitProperties {
+    // Should exceed capacity / refill-per-second: an evicted bucket comes back full.
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    @Data
+    public static class Endpoint {
+        private String method;
+
+        private String path;
+
+        private int capacity = 20;
+
+        private double refillPerSecond = 10;
+    }
+}
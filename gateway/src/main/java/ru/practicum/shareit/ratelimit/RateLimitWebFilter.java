@@ -0,0 +1,58 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exceptions.RateLimitExceededException;
+import ru.practicum.shareit.headers.WithUserHeaderID;
+
+// WebFlux filters run outside @RestControllerAdvice, so the error body is written here.
+public class RateLimitWebFilter implements WebFilter, WithUserHeaderID {
+    private final UserRateLimiter userRateLimiter;
+
+    private final ObjectMapper objectMapper;
+
+    public RateLimitWebFilter(UserRateLimiter userRateLimiter, ObjectMapper objectMapper) {
+        this.userRateLimiter = userRateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+
+        try {
+            userRateLimiter.acquire(
+                    request.getMethodValue(),
+                    request.getPath().value(),
+                    request.getHeaders().getFirst(HEADER_USER_ID));
+        } catch (RateLimitExceededException e) {
+            return reject(exchange.getResponse(), e);
+        }
+
+        return chain.filter(exchange);
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, RateLimitExceededException e) {
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        Map<String, String> body = Map.of(
+                "Error message", "Слишком много запросов.",
+                "error", e.getMessage()
+        );
+
+        return response.writeWith(Mono.fromCallable(() ->
+                response.bufferFactory().wrap(objectMapper.writeValueAsBytes(body))));
+    }
+}
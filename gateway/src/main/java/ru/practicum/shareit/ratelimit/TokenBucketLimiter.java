@@ -0,0 +1,80 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TokenBucketLimiter {
+    private final double capacity;
+
+    private final double tokensPerNano;
+
+    private final long idleTimeoutNanos;
+
+    private final Map<Long, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private final AtomicLong nextSweep;
+
+    public TokenBucketLimiter(int capacity, double refillPerSecond, Duration idleTimeout) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerSecond / 1_000_000_000d;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.nextSweep = new AtomicLong(System.nanoTime() + idleTimeoutNanos);
+    }
+
+    public boolean tryAcquire(Long userId) {
+        long now = System.nanoTime();
+
+        sweepIfDue(now);
+
+        Bucket bucket = buckets.get(userId);
+
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(userId, id -> new Bucket(capacity, now));
+        }
+
+        return bucket.tryConsume(now);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    // The request that crosses the deadline drops buckets idle long enough to have refilled completely.
+    private void sweepIfDue(long now) {
+        long due = nextSweep.get();
+
+        if (now - due >= 0 && nextSweep.compareAndSet(due, now + idleTimeoutNanos)) {
+            buckets.values().removeIf(bucket -> now - bucket.lastSeen > idleTimeoutNanos);
+        }
+    }
+
+    private final class Bucket {
+        private double tokens;
+
+        private long refilledAt;
+
+        private volatile long lastSeen;
+
+        private Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.refilledAt = now;
+            this.lastSeen = now;
+        }
+
+        private synchronized boolean tryConsume(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            lastSeen = now;
+
+            if (tokens < 1) {
+                return false;
+            }
+
+            tokens -= 1;
+
+            return true;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.time.Duration;
+import java.util.List;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.lang.Nullable;
+import org.springframework.util.AntPathMatcher;
+import ru.practicum.shareit.exceptions.RateLimitExceededException;
+
+import static java.util.stream.Collectors.toList;
+
+public class UserRateLimiter {
+    private static final String METRIC = "shareit.gateway.rate.limit";
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final List<LimitedEndpoint> endpoints;
+
+    public UserRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.endpoints = properties.getEndpoints().entrySet().stream()
+                .map(endpoint -> new LimitedEndpoint(
+                        endpoint.getKey(),
+                        endpoint.getValue(),
+                        properties.getIdleTimeout(),
+                        meterRegistry))
+                .collect(toList());
+    }
+
+    public void acquire(String method, String path, @Nullable String userHeader) {
+        if (userHeader == null) {
+            return;
+        }
+
+        for (LimitedEndpoint endpoint : endpoints) {
+            if (endpoint.matches(method, path)) {
+                endpoint.acquire(userHeader);
+            }
+        }
+    }
+
+    private static final class LimitedEndpoint {
+        private final String name;
+
+        @Nullable
+        private final String method;
+
+        private final String path;
+
+        private final boolean pattern;
+
+        private final TokenBucketLimiter limiter;
+
+        private final Duration retryAfter;
+
+        private final Counter rejections;
+
+        private LimitedEndpoint(
+                String name,
+                RateLimitProperties.Endpoint properties,
+                Duration idleTimeout,
+                MeterRegistry meterRegistry) {
+            this.name = name;
+            this.method = properties.getMethod();
+            this.path = properties.getPath();
+            this.pattern = PATH_MATCHER.isPattern(path);
+            this.limiter = new TokenBucketLimiter(
+                    properties.getCapacity(),
+                    properties.getRefillPerSecond(),
+                    idleTimeout);
+            this.retryAfter = Duration.ofSeconds((long) Math.ceil(1 / properties.getRefillPerSecond()));
+            this.rejections = meterRegistry.counter(METRIC + ".rejected", "endpoint", name);
+
+            Gauge.builder(METRIC + ".buckets", limiter, TokenBucketLimiter::size)
+                    .tag("endpoint", name)
+                    .register(meterRegistry);
+        }
+
+        private boolean matches(String requestMethod, String requestPath) {
+            if (method != null && !method.equalsIgnoreCase(requestMethod)) {
+                return false;
+            }
+
+            return pattern ? PATH_MATCHER.match(path, requestPath) : path.equals(requestPath);
+        }
+
+        private void acquire(String userHeader) {
+            Long userId;
+
+            try {
+                userId = Long.valueOf(userHeader);
+            } catch (NumberFormatException e) {
+                return;
+            }
+
+            if (!limiter.tryAcquire(userId)) {
+                rejections.increment();
+
+                throw new RateLimitExceededException(
+                        String.format("User %d exceeded the %s rate limit", userId, name),
+                        retryAfter);
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import javax.validation.constraints.Min;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -21,6 +22,7 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 @Slf4j
 @Validated
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/requests")
 public class ItemRequestController implements WithUserHeaderID {
     private final ItemRequestClient itemRequestClient;
@@ -38,8 +40,11 @@ public class ItemRequestController implements WithUserHeaderID {
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAllByRequesterId(@RequestHeader(HEADER_USER_ID) Long userId) {
-        return itemRequestClient.findAllByRequesterId(userId);
+    public ResponseEntity<Object> findAllByRequesterId(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @RequestParam(name = "from", defaultValue = "0") @Min(0) Integer from,
+            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size) {
+        return itemRequestClient.findAllByRequesterId(userId, from, size);
     }
 
     @GetMapping("/{requestId}")
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.request;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.headers.WithUserHeaderID;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+@Slf4j
+@Validated
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/requests")
+public class ReactiveItemRequestController implements WithUserHeaderID {
+    private final ReactiveItemRequestClient itemRequestClient;
+
+    @Autowired
+    public ReactiveItemRequestController(ReactiveItemRequestClient itemRequestClient) {
+        this.itemRequestClient = itemRequestClient;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> add(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @Valid @RequestBody ItemRequestDto itemRequestDto) {
+        return itemRequestClient.add(userId, itemRequestDto);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> findAllByRequesterId(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @RequestParam(name = "from", defaultValue = "0") @Min(0) Integer from,
+            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size) {
+        return itemRequestClient.findAllByRequesterId(userId, from, size);
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<Object>> findById(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @PathVariable Long requestId) {
+        return itemRequestClient.findById(userId, requestId);
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<Object>> findAllById(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @RequestParam(name = "from", defaultValue = "0") @Min(0) Integer from,
+            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size) {
+        return itemRequestClient.findAllById(userId, from, size);
+    }
+}
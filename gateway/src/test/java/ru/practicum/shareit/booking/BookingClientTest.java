@@ -0,0 +1,84 @@
+package ru.practicum.shareit.booking;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BookingClientTest {
+    private static final String SERVER_URL = "http://shareit-server";
+
+    private static final String HEADER_NEXT_CURSOR = "X-Next-Cursor";
+
+    private MockRestServiceServer server;
+
+    private BookingClient bookingClient;
+
+    @BeforeEach
+    void setUp() {
+        MockServerRestTemplateCustomizer customizer = new MockServerRestTemplateCustomizer();
+
+        bookingClient = new BookingClient(
+                SERVER_URL,
+                new RestTemplateBuilder(customizer),
+                new SimpleClientHttpRequestFactory());
+        server = customizer.getServer();
+    }
+
+    @Test
+    void findAllByOwnerIdShouldRelayNextCursorHeader() {
+        byte[] body = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+
+        HttpHeaders serverHeaders = new HttpHeaders();
+        serverHeaders.set(HEADER_NEXT_CURSOR, "cursor-1");
+        serverHeaders.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        serverHeaders.set(HttpHeaders.CONNECTION, "keep-alive");
+
+        server.expect(requestTo(SERVER_URL + "/bookings/owner?state=ALL&after=cursor-0&size=10"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON).headers(serverHeaders));
+
+        ResponseEntity<Object> response = bookingClient.findAllByOwnerId(1L, BookingState.ALL, 0, 10, "cursor-0");
+
+        server.verify();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("cursor-1", response.getHeaders().getFirst(HEADER_NEXT_CURSOR));
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+        assertArrayEquals(body, (byte[]) response.getBody());
+    }
+
+    @Test
+    void findAllByBookerIdShouldRelayErrorStatusWithoutCursor() {
+        server.expect(requestTo(SERVER_URL + "/bookings?state=ALL&from=0&size=10"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        ResponseEntity<Object> response = bookingClient.findAllByBookerId(1L, BookingState.ALL, 0, 10, null);
+
+        server.verify();
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertNull(response.getHeaders().getFirst(HEADER_NEXT_CURSOR));
+    }
+}
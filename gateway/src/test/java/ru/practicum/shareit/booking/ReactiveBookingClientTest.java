@@ -0,0 +1,58 @@
+package ru.practicum.shareit.booking;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class ReactiveBookingClientTest {
+    private static final String SERVER_URL = "http://shareit-server";
+
+    private static final String HEADER_NEXT_CURSOR = "X-Next-Cursor";
+
+    @Test
+    void findAllByOwnerIdShouldRelayNextCursorHeader() {
+        String body = "[{\"id\":1}]";
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+
+        WebClient.Builder builder = WebClient.builder()
+                .exchangeFunction(request -> {
+                    sent.set(request);
+
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .header(HEADER_NEXT_CURSOR, "cursor-1")
+                            .header(HttpHeaders.TRANSFER_ENCODING, "chunked")
+                            .body(body)
+                            .build());
+                });
+
+        ReactiveBookingClient bookingClient = new ReactiveBookingClient(SERVER_URL, builder);
+
+        ResponseEntity<Object> response = bookingClient
+                .findAllByOwnerId(1L, BookingState.ALL, 0, 10, "cursor-0")
+                .block();
+
+        assertNotNull(response);
+        assertEquals(SERVER_URL + "/bookings/owner?state=ALL&after=cursor-0&size=10", sent.get().url().toString());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("cursor-1", response.getHeaders().getFirst(HEADER_NEXT_CURSOR));
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING));
+        assertArrayEquals(body.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+}
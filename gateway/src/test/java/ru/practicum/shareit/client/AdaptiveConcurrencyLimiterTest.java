@@ -0,0 +1,123 @@
+package ru.practicum.shareit.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long THRESHOLD_NANOS = Duration.ofMillis(100).toNanos();
+
+    private long now;
+
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrencyLimitProperties.Limit properties = new ConcurrencyLimitProperties.Limit();
+        properties.setInitialLimit(10);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(12);
+        properties.setLatencyThreshold(Duration.ofNanos(THRESHOLD_NANOS));
+        properties.setBackoffRatio(0.5);
+
+        limiter = new AdaptiveConcurrencyLimiter(properties, () -> now);
+    }
+
+    @Test
+    void tryAcquireShouldRejectAboveLimit() {
+        acquire(10);
+
+        assertNull(limiter.tryAcquire());
+        assertEquals(10, limiter.getInFlight());
+    }
+
+    @Test
+    void releaseShouldIncreaseLimitForFastCallsUnderLoad() {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(5);
+
+        permits.get(0).release(false);
+
+        assertEquals(11, limiter.getLimit());
+        assertEquals(4, limiter.getInFlight());
+    }
+
+    @Test
+    void releaseShouldKeepLimitForFastCallsWhenMostlyIdle() {
+        acquire(1).get(0).release(false);
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void releaseShouldNotIncreaseAboveMaxLimit() {
+        for (int i = 0; i < 5; i++) {
+            acquire(10).forEach(permit -> permit.release(false));
+        }
+
+        assertEquals(12, limiter.getLimit());
+    }
+
+    @Test
+    void releaseShouldDecreaseOnceForBurstOfSlowCalls() {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(10);
+
+        now += THRESHOLD_NANOS + 1;
+        permits.forEach(permit -> permit.release(false));
+
+        assertEquals(5, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void releaseShouldDecreaseAgainForCallsAdmittedAfterCut() {
+        AdaptiveConcurrencyLimiter.Permit first = acquire(1).get(0);
+        now += THRESHOLD_NANOS + 1;
+        first.release(false);
+
+        AdaptiveConcurrencyLimiter.Permit second = acquire(1).get(0);
+        now += THRESHOLD_NANOS + 1;
+        second.release(false);
+
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void releaseShouldDecreaseOnDroppedCallAndStopAtMinLimit() {
+        for (int i = 0; i < 5; i++) {
+            acquire(1).get(0).release(true);
+        }
+
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void releaseShouldCountPermitOnce() {
+        AdaptiveConcurrencyLimiter.Permit permit = acquire(1).get(0);
+        now += THRESHOLD_NANOS + 1;
+
+        permit.release(true);
+        permit.release(true);
+
+        assertEquals(5, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private List<AdaptiveConcurrencyLimiter.Permit> acquire(int count) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+            assertNotNull(permit);
+            permits.add(permit);
+        }
+
+        return permits;
+    }
+}
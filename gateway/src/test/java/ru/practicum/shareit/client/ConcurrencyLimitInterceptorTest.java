@@ -0,0 +1,51 @@
+package ru.practicum.shareit.client;
+
+import java.io.InputStream;
+import java.net.URI;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConcurrencyLimitInterceptorTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ConcurrencyLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new ConcurrencyLimitInterceptor(new ConcurrencyLimitProperties(), meterRegistry);
+    }
+
+    @Test
+    void interceptShouldHoldPermitUntilResponseIsClosed() throws Exception {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("/items"));
+
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0],
+                (req, body) -> new MockClientHttpResponse("[]".getBytes(), HttpStatus.OK));
+
+        assertEquals(1.0, inFlight());
+
+        try (InputStream body = response.getBody()) {
+            body.readAllBytes();
+        }
+
+        assertEquals(0.0, inFlight());
+
+        response.close();
+
+        assertEquals(0.0, inFlight());
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("shareit.gateway.concurrency.in.flight").tag("kind", "read").gauge().value();
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.SplittableRandom;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@Tag("benchmark")
+class UserRateLimiterBenchmarkTest {
+    private static final int USERS = Integer.getInteger("benchmark.users", 100_000);
+
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000_000);
+
+    private static final String PATH = "/items/search";
+
+    @Test
+    void acquireShouldStayUnderMicrosecondPerRequest() {
+        RateLimitProperties.Endpoint search = new RateLimitProperties.Endpoint();
+        search.setMethod("GET");
+        search.setPath(PATH);
+        search.setCapacity(Integer.MAX_VALUE);
+        search.setRefillPerSecond(1_000_000);
+
+        RateLimitProperties.Endpoint owner = new RateLimitProperties.Endpoint();
+        owner.setMethod("GET");
+        owner.setPath("/bookings/owner");
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getEndpoints().put("items-search", search);
+        properties.getEndpoints().put("bookings-owner", owner);
+
+        UserRateLimiter limiter = new UserRateLimiter(properties, new SimpleMeterRegistry());
+
+        String[] userHeaders = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            userHeaders[i] = String.valueOf(i + 1);
+            limiter.acquire("GET", PATH, userHeaders[i]);
+        }
+
+        run(limiter, userHeaders, REQUESTS / 4);
+
+        long started = System.nanoTime();
+        run(limiter, userHeaders, REQUESTS);
+        double nanosPerRequest = (System.nanoTime() - started) / (double) REQUESTS;
+
+        log.info("{} users, {} requests: {} ns per request",
+                USERS,
+                REQUESTS,
+                String.format("%.0f", nanosPerRequest));
+
+        assertTrue(nanosPerRequest < 1_000, "Rate limiter took " + nanosPerRequest + " ns per request");
+    }
+
+    private static void run(UserRateLimiter limiter, String[] userHeaders, int requests) {
+        SplittableRandom random = new SplittableRandom(42);
+
+        for (int i = 0; i < requests; i++) {
+            limiter.acquire("GET", PATH, userHeaders[random.nextInt(userHeaders.length)]);
+        }
+    }
+}
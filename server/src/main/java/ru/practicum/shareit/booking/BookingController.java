@@ -4,6 +4,7 @@ import java.util.List;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.headers.WithUserHeaderID;
 
@@ -38,6 +40,15 @@ public class BookingController  implements WithUserHeaderID {
         return bookingService.add(userId, bookingDto);
     }
 
+    @PostMapping("/batch")
+    public List<BookingResponseDto> addAll(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @RequestBody List<BookingDto> bookingDtos) {
+        log.info("Request to add user {} bookings, count {}", userId, bookingDtos.size());
+
+        return bookingService.addAll(userId, bookingDtos);
+    }
+
     @PatchMapping("{bookingId}")
     public BookingResponseDto update(
             @RequestHeader(HEADER_USER_ID) Long userId,
@@ -58,24 +69,47 @@ public class BookingController  implements WithUserHeaderID {
     }
 
     @GetMapping
-    public List<BookingResponseDto> findAllByBookerId(
+    public ResponseEntity<List<BookingResponseDto>> findAllByBookerId(
             @RequestHeader(HEADER_USER_ID) Long userId,
             @RequestParam(defaultValue = "ALL") String state,
             @RequestParam(value = "from", defaultValue = "0") Integer from,
-            @RequestParam(value = "size", defaultValue = "10") Integer size) {
+            @RequestParam(value = "size", defaultValue = "10") Integer size,
+            @RequestParam(value = "after", required = false) String after) {
         log.info("Request to load user {} bookings in state {}", userId, state);
 
-        return bookingService.findAllByBookerId(userId, state, from, size);
+        if (after != null) {
+            return withNextCursor(bookingService.findAllByBookerIdAfter(userId, state, after, size), size);
+        }
+
+        return withNextCursor(bookingService.findAllByBookerId(userId, state, from, size), size);
     }
 
     @GetMapping("/owner")
-    public List<BookingResponseDto> findAllByOwnerId(
+    public ResponseEntity<List<BookingResponseDto>> findAllByOwnerId(
             @RequestHeader(HEADER_USER_ID) Long userId,
             @RequestParam(defaultValue = "ALL") String state,
             @RequestParam(value = "from", defaultValue = "0") Integer from,
-            @RequestParam(value = "size", defaultValue = "10") Integer size) {
+            @RequestParam(value = "size", defaultValue = "10") Integer size,
+            @RequestParam(value = "after", required = false) String after) {
         log.info("Request to load user {} bookings items in state {}", userId, state);
 
-        return bookingService.findAllByOwnerId(userId, state, from, size);
+        if (after != null) {
+            return withNextCursor(bookingService.findAllByOwnerIdAfter(userId, state, after, size), size);
+        }
+
+        return withNextCursor(bookingService.findAllByOwnerId(userId, state, from, size), size);
+    }
+
+    private ResponseEntity<List<BookingResponseDto>> withNextCursor(List<BookingResponseDto> bookings, Integer size) {
+        if (bookings.isEmpty() || bookings.size() < size) {
+            return ResponseEntity.ok(bookings);
+        }
+
+        BookingResponseDto last = bookings.get(bookings.size() - 1);
+        BookingCursor cursor = new BookingCursor(last.getStart(), last.getId());
+
+        return ResponseEntity.ok()
+                .header(BookingCursor.HEADER_NEXT_CURSOR, cursor.encode())
+                .body(bookings);
     }
 }
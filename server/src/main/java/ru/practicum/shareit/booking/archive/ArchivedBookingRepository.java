@@ -0,0 +1,64 @@
+package ru.practicum.shareit.booking.archive;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.schedule.BookingInterval;
+
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+    String SELECT_RESPONSE = "SELECT new ru.practicum.shareit.booking.dto.BookingResponseDto(" +
+            "b.id, b.start, b.end, b.status, i.id, i.name, i.description, i.available, i.request.id, " +
+            "u.id, u.name, u.email) " +
+            "FROM ArchivedBooking AS b " +
+            "JOIN b.item AS i " +
+            "JOIN b.booker AS u ";
+
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<ArchivedBooking> findById(Long bookingId);
+
+    @Query(SELECT_RESPONSE +
+            "WHERE b.booker.id = ?1")
+    List<BookingResponseDto> findAllByBookerId(Long bookerId, Pageable pageable);
+
+    @Query(SELECT_RESPONSE +
+            "WHERE b.booker.id = ?1 " +
+            "AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingResponseDto> findAllByBookerIdAfter(
+            Long bookerId,
+            LocalDateTime cursorStart,
+            Long cursorId,
+            Pageable pageable);
+
+    @Query(SELECT_RESPONSE +
+            "WHERE b.owner.id = ?1")
+    List<BookingResponseDto> findAllByOwnerId(Long ownerId, Pageable pageable);
+
+    @Query(SELECT_RESPONSE +
+            "WHERE b.owner.id = ?1 " +
+            "AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingResponseDto> findAllByOwnerIdAfter(
+            Long ownerId,
+            LocalDateTime cursorStart,
+            Long cursorId,
+            Pageable pageable);
+
+    boolean existsByBookerIdAndItemId(Long bookerId, Long itemId);
+
+    // Archived bookings were approved and never overlap, so the window is bounded the same way as in BookingRepository
+    @Query("SELECT new ru.practicum.shareit.booking.schedule.BookingInterval(b.id, b.item.id, b.start, b.end) " +
+            "FROM ArchivedBooking AS b " +
+            "WHERE b.item.id = ?1 AND b.end > ?2 AND b.start < ?3 " +
+            "AND (b.start >= ?2 OR b.start = (SELECT MAX(p.start) FROM ArchivedBooking AS p " +
+            "WHERE p.item.id = ?1 AND p.start < ?2)) " +
+            "ORDER BY b.start, b.id")
+    List<BookingInterval> findIntervalsByItemIdBetween(Long itemId, LocalDateTime from, LocalDateTime to);
+}
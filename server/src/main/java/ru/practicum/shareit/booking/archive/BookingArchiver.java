@@ -0,0 +1,95 @@
+package ru.practicum.shareit.booking.archive;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.schedule.BookingSchedule;
+
+@Slf4j
+@Component
+public class BookingArchiver {
+    private static final String COPY_TO_ARCHIVE = "INSERT INTO bookings_archive " +
+            "(id, start_date, end_date, item_id, booker_id, owner_id, status) " +
+            "SELECT id, start_date, end_date, item_id, booker_id, owner_id, status " +
+            "FROM bookings " +
+            "WHERE id IN ?1";
+
+    private final BookingRepository bookingRepository;
+
+    private final BookingSchedule bookingSchedule;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration retention;
+
+    private final int batchSize;
+
+    @Autowired
+    public BookingArchiver(
+            BookingRepository bookingRepository,
+            BookingSchedule bookingSchedule,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${shareit.booking-archive.retention:30d}") Duration retention,
+            @Value("${shareit.booking-archive.batch-size:1000}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.bookingSchedule = bookingSchedule;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(
+            initialDelayString = "${shareit.booking-archive.interval:PT1H}",
+            fixedDelayString = "${shareit.booking-archive.interval:PT1H}")
+    public void archiveScheduled() {
+        archive(LocalDateTime.now());
+    }
+
+    // Only approved bookings already superseded by a later started one move, so they can no longer be
+    // an item's last booking and every booking that can still change or be listed by status stays hot
+    public int archive(LocalDateTime now) {
+        LocalDateTime endedBefore = now.minus(retention);
+        Long lastId = 0L;
+        int archived = 0;
+        List<Long> ids;
+
+        do {
+            ids = bookingRepository.findArchivableIdsAfter(endedBefore, now, lastId, batchSize);
+
+            if (!ids.isEmpty()) {
+                List<Long> batch = ids;
+
+                archived += transactionTemplate.execute(status -> {
+                    entityManager.createNativeQuery(COPY_TO_ARCHIVE)
+                            .setParameter(1, batch)
+                            .executeUpdate();
+                    return bookingRepository.deleteAllByIdIn(batch);
+                });
+                lastId = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == batchSize);
+
+        if (archived > 0) {
+            // Every archived booking ended before the cutoff, so pruning up to it drops all of their intervals
+            bookingSchedule.prune(endedBefore);
+            log.info("Archived {} bookings that ended before {}", archived, endedBefore);
+        }
+
+        return archived;
+    }
+}
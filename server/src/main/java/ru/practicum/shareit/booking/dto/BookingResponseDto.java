@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking.dto;
 
 import java.time.LocalDateTime;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import ru.practicum.shareit.booking.model.BookingStatus;
@@ -10,6 +11,7 @@ import ru.practicum.shareit.user.dto.UserDto;
 
 @Data
 @Builder
+@AllArgsConstructor
 public class BookingResponseDto {
     private Long id;
 
@@ -23,6 +25,37 @@ public class BookingResponseDto {
 
     private BookingStatus status;
 
+    public BookingResponseDto(
+            Long id,
+            LocalDateTime start,
+            LocalDateTime end,
+            BookingStatus status,
+            Long itemId,
+            String itemName,
+            String itemDescription,
+            Boolean itemAvailable,
+            Long itemRequestId,
+            Long bookerId,
+            String bookerName,
+            String bookerEmail) {
+        this.id = id;
+        this.start = start;
+        this.end = end;
+        this.status = status;
+        this.item = ItemResponseDto.builder()
+                .id(itemId)
+                .name(itemName)
+                .description(itemDescription)
+                .available(itemAvailable)
+                .requestId(itemRequestId)
+                .build();
+        this.booker = UserDto.builder()
+                .id(bookerId)
+                .name(bookerName)
+                .email(bookerEmail)
+                .build();
+    }
+
     public Long getItemId() {
         return item.getId();
     }
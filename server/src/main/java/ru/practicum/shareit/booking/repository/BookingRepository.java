@@ -1,64 +1,229 @@
 package ru.practicum.shareit.booking.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
-import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.booking.schedule.BookingInterval;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findAllByBookerId(Long bookerId, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStartBeforeAndEndAfter(
+    String SELECT_RESPONSE = "SELECT new ru.practicum.shareit.booking.dto.BookingResponseDto(" +
+            "b.id, b.start, b.end, b.status, i.id, i.name, i.description, i.available, i.request.id, " +
+            "u.id, u.name, u.email) " +
+            "FROM Booking AS b " +
+            "JOIN b.item AS i " +
+            "JOIN b.booker AS u ";
+
+    @Override
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Optional<Booking> findById(Long bookingId);
+
+    @Query(SELECT_RESPONSE +
+            "WHERE u.id = ?1")
+    List<BookingResponseDto> findAllByBookerId(Long bookerId, Pageable pageable);
+
+    @Query(SELECT_RESPONSE +
+            "WHERE u.id = ?1 AND b.start < ?2 AND b.end > ?3")
+    List<BookingResponseDto> findAllByBookerIdAndStartBeforeAndEndAfter(
             Long bookerId,
             LocalDateTime start,
             LocalDateTime before,
             Pageable pageable);
 
-    List<Booking> findAllByBookerIdAndEndBefore(Long bookerId, LocalDateTime before, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStartAfter(Long bookerId, LocalDateTime before, Pageable pageable);
+    @Query(SELECT_RESPONSE +
+            "WHERE u.id = ?1 AND b.end < ?2")
+    List<BookingResponseDto> findAllByBookerIdAndEndBefore(Long bookerId, LocalDateTime before, Pageable pageable);
 
-    List<Booking> findAllByBookerIdAndStatus(Long bookerId, BookingStatus status, Pageable pageable);
+    @Query(SELECT_RESPONSE +
+            "WHERE u.id = ?1 AND b.start > ?2")
+    List<BookingResponseDto> findAllByBookerIdAndStartAfter(Long bookerId, LocalDateTime before, Pageable pageable);
 
-    List<Booking> findAllByItemOwner(User itemOwner, Pageable pageable);
+    @Query(SELECT_RESPONSE +
+            "WHERE u.id = ?1 AND b.status = ?2")
+    List<BookingResponseDto> findAllByBookerIdAndStatus(Long bookerId, BookingStatus status, Pageable pageable);
 
-    List<Booking> findAllByItemOwnerAndStartBeforeAndEndAfter(
-            User itemOwner,
-            LocalDateTime start,
-            LocalDateTime before,
+    @Query(SELECT_RESPONSE +
+            "WHERE u.id = ?1 " +
+            "AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingResponseDto> findAllByBookerIdAfter(
+            Long bookerId,
+            LocalDateTime cursorStart,
+            Long cursorId,
             Pageable pageable);
 
-    List<Booking> findAllByItemOwnerAndEndBefore(User itemOwner, LocalDateTime before, Pageable pageable);
+    @Query(SELECT_RESPONSE +
+            "WHERE u.id = ?1 AND b.start < ?2 AND b.end > ?2 " +
+            "AND (b.start < ?3 OR (b.start = ?3 AND b.id < ?4)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingResponseDto> findCurrentByBookerIdAfter(
+            Long bookerId,
+            LocalDateTime now,
+            LocalDateTime cursorStart,
+            Long cursorId,
+            Pageable pageable);
 
-    List<Booking> findAllByItemOwnerAndStartAfter(User itemOwner, LocalDateTime before, Pageable pageable);
+    @Query(SELECT_RESPONSE +
+            "WHERE u.id = ?1 AND b.end < ?2 " +
+            "AND (b.start < ?3 OR (b.start = ?3 AND b.id < ?4)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingResponseDto> findPastByBookerIdAfter(
+            Long bookerId,
+            LocalDateTime now,
+            LocalDateTime cursorStart,
+            Long cursorId,
+            Pageable pageable);
 
-    List<Booking> findAllByItemOwnerAndStatus(User itemOwner, BookingStatus status, Pageable pageable);
+    @Query(SELECT_RESPONSE +
+            "WHERE u.id = ?1 AND b.start > ?2 " +
+            "AND (b.start < ?3 OR (b.start = ?3 AND b.id < ?4)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingResponseDto> findFutureByBookerIdAfter(
+            Long bookerId,
+            LocalDateTime now,
+            LocalDateTime cursorStart,
+            Long cursorId,
+            Pageable pageable);
 
-    Booking findFirstByItemIdAndItemOwnerIdAndStartBeforeAndStatus(
-            Long itemId,
+    @Query(SELECT_RESPONSE +
+            "WHERE u.id = ?1 AND b.status = ?2 " +
+            "AND (b.start < ?3 OR (b.start = ?3 AND b.id < ?4)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingResponseDto> findAllByBookerIdAndStatusAfter(
             Long bookerId,
-            LocalDateTime end,
             BookingStatus status,
-            Sort sort);
+            LocalDateTime cursorStart,
+            Long cursorId,
+            Pageable pageable);
 
-    Booking findFirstByItemIdAndItemOwnerIdAndStartAfterAndStatus(
-            Long itemId,
-            Long bookerId,
+    @Query(SELECT_RESPONSE +
+            "WHERE b.owner.id = ?1")
+    List<BookingResponseDto> findAllByOwnerId(Long ownerId, Pageable pageable);
+
+    @Query(SELECT_RESPONSE +
+            "WHERE b.owner.id = ?1 AND b.start < ?2 AND b.end > ?3")
+    List<BookingResponseDto> findAllByOwnerIdAndStartBeforeAndEndAfter(
+            Long ownerId,
             LocalDateTime start,
+            LocalDateTime before,
+            Pageable pageable);
+
+    @Query(SELECT_RESPONSE +
+            "WHERE b.owner.id = ?1 AND b.end < ?2")
+    List<BookingResponseDto> findAllByOwnerIdAndEndBefore(Long ownerId, LocalDateTime before, Pageable pageable);
+
+    @Query(SELECT_RESPONSE +
+            "WHERE b.owner.id = ?1 AND b.start > ?2")
+    List<BookingResponseDto> findAllByOwnerIdAndStartAfter(Long ownerId, LocalDateTime before, Pageable pageable);
+
+    @Query(SELECT_RESPONSE +
+            "WHERE b.owner.id = ?1 AND b.status = ?2")
+    List<BookingResponseDto> findAllByOwnerIdAndStatus(Long ownerId, BookingStatus status, Pageable pageable);
+
+    @Query(SELECT_RESPONSE +
+            "WHERE b.owner.id = ?1 " +
+            "AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingResponseDto> findAllByOwnerIdAfter(
+            Long ownerId,
+            LocalDateTime cursorStart,
+            Long cursorId,
+            Pageable pageable);
+
+    @Query(SELECT_RESPONSE +
+            "WHERE b.owner.id = ?1 AND b.start < ?2 AND b.end > ?2 " +
+            "AND (b.start < ?3 OR (b.start = ?3 AND b.id < ?4)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingResponseDto> findCurrentByOwnerIdAfter(
+            Long ownerId,
+            LocalDateTime now,
+            LocalDateTime cursorStart,
+            Long cursorId,
+            Pageable pageable);
+
+    @Query(SELECT_RESPONSE +
+            "WHERE b.owner.id = ?1 AND b.end < ?2 " +
+            "AND (b.start < ?3 OR (b.start = ?3 AND b.id < ?4)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingResponseDto> findPastByOwnerIdAfter(
+            Long ownerId,
+            LocalDateTime now,
+            LocalDateTime cursorStart,
+            Long cursorId,
+            Pageable pageable);
+
+    @Query(SELECT_RESPONSE +
+            "WHERE b.owner.id = ?1 AND b.start > ?2 " +
+            "AND (b.start < ?3 OR (b.start = ?3 AND b.id < ?4)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingResponseDto> findFutureByOwnerIdAfter(
+            Long ownerId,
+            LocalDateTime now,
+            LocalDateTime cursorStart,
+            Long cursorId,
+            Pageable pageable);
+
+    @Query(SELECT_RESPONSE +
+            "WHERE b.owner.id = ?1 AND b.status = ?2 " +
+            "AND (b.start < ?3 OR (b.start = ?3 AND b.id < ?4)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<BookingResponseDto> findAllByOwnerIdAndStatusAfter(
+            Long ownerId,
             BookingStatus status,
-            Sort sort);
+            LocalDateTime cursorStart,
+            Long cursorId,
+            Pageable pageable);
 
     Optional<Booking> findFirstByBookerIdAndItemIdAndEndBefore(
             Long itemId,
             Long bookerId,
             LocalDateTime end);
 
-    List<Booking> findAllByItemInAndStatus(List<Item> items, BookingStatus status, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.booking.schedule.BookingInterval(b.id, b.item.id, b.start, b.end) " +
+            "FROM Booking AS b " +
+            "WHERE b.status IN ?1 AND b.end > ?2 AND b.id > ?3 " +
+            "ORDER BY b.id")
+    List<BookingInterval> findIntervalsAfter(
+            Collection<BookingStatus> statuses,
+            LocalDateTime now,
+            Long id,
+            Pageable pageable);
+
+    // Reserving bookings of an item never overlap, so only the latest one starting before the window can reach into it.
+    // Both branches are start date ranges bounded by the window, so the cost does not grow with the item's history
+    // or with bookings past the window
+    @Query("SELECT new ru.practicum.shareit.booking.schedule.BookingInterval(b.id, b.item.id, b.start, b.end) " +
+            "FROM Booking AS b " +
+            "WHERE b.item.id = ?1 AND b.status IN ?2 AND b.end > ?3 AND b.start < ?4 " +
+            "AND (b.start >= ?3 OR b.start = (SELECT MAX(p.start) FROM Booking AS p " +
+            "WHERE p.item.id = ?1 AND p.status IN ?2 AND p.start < ?3)) " +
+            "ORDER BY b.start, b.id")
+    List<BookingInterval> findIntervalsByItemIdBetween(
+            Long itemId,
+            Collection<BookingStatus> statuses,
+            LocalDateTime from,
+            LocalDateTime to);
+
+    @Query(value = "SELECT b.id FROM bookings AS b " +
+            "WHERE b.id > ?3 AND b.status = 'APPROVED' AND b.end_date < ?1 " +
+            "AND EXISTS (SELECT 1 FROM bookings AS n " +
+            "WHERE n.item_id = b.item_id AND n.status = 'APPROVED' AND n.start_date > b.start_date " +
+            "AND n.start_date < ?2) " +
+            "ORDER BY b.id " +
+            "LIMIT ?4",
+            nativeQuery = true)
+    List<Long> findArchivableIdsAfter(LocalDateTime endedBefore, LocalDateTime now, Long id, int limit);
+
+    @Modifying
+    @Query("DELETE FROM Booking AS b WHERE b.id IN ?1")
+    int deleteAllByIdIn(Collection<Long> bookingIds);
 }
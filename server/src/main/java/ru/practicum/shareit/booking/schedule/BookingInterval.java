@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.schedule;
+
+import java.time.LocalDateTime;
+
+import lombok.Value;
+import ru.practicum.shareit.booking.model.Booking;
+
+@Value
+public class BookingInterval {
+    Long id;
+
+    Long itemId;
+
+    LocalDateTime start;
+
+    LocalDateTime end;
+
+    public static BookingInterval of(Booking booking) {
+        return new BookingInterval(booking.getId(), booking.getItem().getId(), booking.getStart(), booking.getEnd());
+    }
+
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return this.start.isBefore(end) && start.isBefore(this.end);
+    }
+}
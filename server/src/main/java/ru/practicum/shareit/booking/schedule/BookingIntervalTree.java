@@ -0,0 +1,204 @@
+package ru.practicum.shareit.booking.schedule;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+class BookingIntervalTree {
+    private static final Comparator<BookingInterval> ORDER = Comparator
+            .comparing(BookingInterval::getStart)
+            .thenComparing(BookingInterval::getId);
+
+    private Node root;
+
+    private int size;
+
+    void insert(BookingInterval interval) {
+        root = insert(root, interval);
+    }
+
+    void remove(BookingInterval interval) {
+        root = remove(root, interval);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int removeEndedBy(LocalDateTime time) {
+        List<BookingInterval> ended = new ArrayList<>();
+
+        collectEndedBy(root, time, ended);
+        ended.forEach(this::remove);
+
+        return ended.size();
+    }
+
+    Optional<BookingInterval> findOverlapping(LocalDateTime start, LocalDateTime end) {
+        Node node = root;
+
+        while (node != null) {
+            if (node.interval.overlaps(start, end)) {
+                return Optional.of(node.interval);
+            }
+
+            node = node.left != null && node.left.maxEnd.isAfter(start) ? node.left : node.right;
+        }
+
+        return Optional.empty();
+    }
+
+    private Node insert(Node node, BookingInterval interval) {
+        if (node == null) {
+            size++;
+
+            return new Node(interval);
+        }
+
+        int order = ORDER.compare(interval, node.interval);
+
+        if (order < 0) {
+            node.left = insert(node.left, interval);
+        } else if (order > 0) {
+            node.right = insert(node.right, interval);
+        } else {
+            node.interval = interval;
+        }
+
+        return balance(node);
+    }
+
+    private Node remove(Node node, BookingInterval interval) {
+        if (node == null) {
+            return null;
+        }
+
+        int order = ORDER.compare(interval, node.interval);
+
+        if (order < 0) {
+            node.left = remove(node.left, interval);
+        } else if (order > 0) {
+            node.right = remove(node.right, interval);
+        } else {
+            size--;
+
+            if (node.left == null || node.right == null) {
+                return node.left == null ? node.right : node.left;
+            }
+
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+
+            node.interval = successor.interval;
+            node.right = removeMin(node.right);
+        }
+
+        return balance(node);
+    }
+
+    private static void collectEndedBy(Node node, LocalDateTime time, List<BookingInterval> ended) {
+        if (node == null) {
+            return;
+        }
+
+        collectEndedBy(node.left, time, ended);
+
+        if (!node.interval.getEnd().isAfter(time)) {
+            ended.add(node.interval);
+        }
+
+        collectEndedBy(node.right, time, ended);
+    }
+
+    private static Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+
+        node.left = removeMin(node.left);
+
+        return balance(node);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+
+        int balance = height(node.left) - height(node.right);
+
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+
+            return rotateRight(node);
+        }
+
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+
+            return rotateLeft(node);
+        }
+
+        return node;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+
+        return pivot;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.maxEnd = node.interval.getEnd();
+
+        if (node.left != null && node.left.maxEnd.isAfter(node.maxEnd)) {
+            node.maxEnd = node.left.maxEnd;
+        }
+
+        if (node.right != null && node.right.maxEnd.isAfter(node.maxEnd)) {
+            node.maxEnd = node.right.maxEnd;
+        }
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node {
+        private BookingInterval interval;
+
+        private LocalDateTime maxEnd;
+
+        private int height = 1;
+
+        private Node left;
+
+        private Node right;
+
+        private Node(BookingInterval interval) {
+            this.interval = interval;
+            this.maxEnd = interval.getEnd();
+        }
+    }
+}
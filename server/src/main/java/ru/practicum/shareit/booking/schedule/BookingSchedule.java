@@ -0,0 +1,157 @@
+package ru.practicum.shareit.booking.schedule;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+@Slf4j
+@Component
+public class BookingSchedule {
+    private static final int REBUILD_BATCH_SIZE = 10_000;
+
+    private static final List<BookingStatus> RESERVING_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, BookingIntervalTree> items = new ConcurrentHashMap<>();
+
+    @Autowired
+    public BookingSchedule(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    @PostConstruct
+    public synchronized void rebuild() {
+        items.clear();
+
+        LocalDateTime now = LocalDateTime.now();
+        Long lastId = 0L;
+        List<BookingInterval> batch;
+        int count = 0;
+
+        do {
+            batch = bookingRepository.findIntervalsAfter(
+                    RESERVING_STATUSES,
+                    now,
+                    lastId,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE));
+
+            for (BookingInterval interval : batch) {
+                tree(interval.getItemId()).insert(interval);
+                lastId = interval.getId();
+            }
+
+            count += batch.size();
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        log.info("Booking schedule rebuilt with {} intervals for {} items", count, items.size());
+    }
+
+    @Scheduled(
+            initialDelayString = "${shareit.booking-schedule.prune-interval:PT10M}",
+            fixedDelayString = "${shareit.booking-schedule.prune-interval:PT10M}")
+    public void pruneScheduled() {
+        prune(LocalDateTime.now());
+    }
+
+    // The gateway only accepts bookings that start now or later, so an interval that has ended can never
+    // conflict again. Empty trees stay in the map because a concurrent reserve may already hold one
+    public int prune(LocalDateTime endedBy) {
+        int pruned = 0;
+
+        for (BookingIntervalTree tree : items.values()) {
+            synchronized (tree) {
+                pruned += tree.removeEndedBy(endedBy);
+            }
+        }
+
+        if (pruned > 0) {
+            log.debug("Pruned {} booking intervals that ended by {}", pruned, endedBy);
+        }
+
+        return pruned;
+    }
+
+    public void reserve(Booking booking) {
+        BookingInterval interval = BookingInterval.of(booking);
+        BookingIntervalTree tree = tree(interval.getItemId());
+
+        synchronized (tree) {
+            tree.findOverlapping(interval.getStart(), interval.getEnd())
+                    .ifPresent(conflict -> {
+                        throw new IllegalStateException(String.format("Item %d is already booked from %s to %s",
+                                interval.getItemId(), conflict.getStart(), conflict.getEnd()));
+                    });
+
+            tree.insert(interval);
+        }
+
+        afterRollback(() -> remove(interval));
+    }
+
+    public void release(Booking booking) {
+        BookingInterval interval = BookingInterval.of(booking);
+
+        remove(interval);
+        afterRollback(() -> {
+            BookingIntervalTree tree = tree(interval.getItemId());
+
+            synchronized (tree) {
+                tree.insert(interval);
+            }
+        });
+    }
+
+    public boolean isFree(Long itemId, LocalDateTime start, LocalDateTime end) {
+        BookingIntervalTree tree = items.get(itemId);
+
+        if (tree == null) {
+            return true;
+        }
+
+        synchronized (tree) {
+            return tree.findOverlapping(start, end).isEmpty();
+        }
+    }
+
+    private void remove(BookingInterval interval) {
+        BookingIntervalTree tree = tree(interval.getItemId());
+
+        synchronized (tree) {
+            tree.remove(interval);
+        }
+    }
+
+    private BookingIntervalTree tree(Long itemId) {
+        return items.computeIfAbsent(itemId, id -> new BookingIntervalTree());
+    }
+
+    private static void afterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
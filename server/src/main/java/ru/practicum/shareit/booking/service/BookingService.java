@@ -8,11 +8,17 @@ import ru.practicum.shareit.booking.dto.BookingResponseDto;
 public interface BookingService {
     BookingResponseDto add(Long userId, BookingDto bookingDto);
 
+    List<BookingResponseDto> addAll(Long userId, List<BookingDto> bookingDtos);
+
     BookingResponseDto update(Long userId, Long bookingId, Boolean approved);
 
     BookingResponseDto findByUserIdAndBookingId(Long userId, Long bookingId);
 
     List<BookingResponseDto> findAllByBookerId(Long userId, String state, Integer from, Integer size);
 
+    List<BookingResponseDto> findAllByBookerIdAfter(Long userId, String state, String after, Integer size);
+
     List<BookingResponseDto> findAllByOwnerId(Long userId, String state, Integer from, Integer size);
+
+    List<BookingResponseDto> findAllByOwnerIdAfter(Long userId, String state, String after, Integer size);
 }
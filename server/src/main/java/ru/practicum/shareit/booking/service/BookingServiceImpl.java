@@ -2,9 +2,14 @@ package ru.practicum.shareit.booking.service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
@@ -12,33 +17,56 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.archive.ArchivedBooking;
+import ru.practicum.shareit.booking.archive.ArchivedBookingRepository;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.mapper.MapperBooking;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.schedule.BookingSchedule;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
-import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.user.cache.UserIdCache;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 @Service
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    private static final Comparator<BookingResponseDto> NEWEST_FIRST = Comparator
+            .comparing(BookingResponseDto::getStart)
+            .thenComparing(BookingResponseDto::getId)
+            .reversed();
+
+    private static final Sort NEWEST_FIRST_SORT = Sort.by(Sort.Direction.DESC, "start", "id");
+
+    private static final int MERGE_STEP_ROWS = 10_000;
+
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final BookingSchedule bookingSchedule;
+    private final UserIdCache userIdCache;
 
     @Autowired
     public BookingServiceImpl(
             BookingRepository bookingRepository,
+            ArchivedBookingRepository archivedBookingRepository,
             ItemRepository itemRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            BookingSchedule bookingSchedule,
+            UserIdCache userIdCache) {
         this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
+        this.bookingSchedule = bookingSchedule;
+        this.userIdCache = userIdCache;
     }
 
     @Override
@@ -46,45 +74,55 @@ public class BookingServiceImpl implements BookingService {
     public BookingResponseDto add(Long userId, BookingDto bookingDto) {
         Long itemId = bookingDto.getItemId();
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException(String.format("User %d not found", userId)));
+        userIdCache.require(userId);
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NoSuchElementException(String.format("Item %d not found", itemId)));
 
-        if (!item.getAvailable()) {
-            throw new IllegalStateException(String.format("Item %d is unavailable", itemId));
-        }
+        Booking savedBooking = bookingRepository.save(toBooking(userId, item, bookingDto));
 
-        if (item.isOwnedBy(userId)) {
-            throw new NoSuchElementException(String.format("User %d can not book own item %d", userId, itemId));
-        }
+        bookingSchedule.reserve(savedBooking);
 
-        if (bookingDto.getEnd().isBefore(bookingDto.getStart())) {
-            throw new IllegalStateException("Booking end date cannot be earlier booking start date");
-        }
+        return MapperBooking.toBookingResponseDto(savedBooking);
+    }
 
-        if (bookingDto.getStart().isEqual(bookingDto.getEnd())) {
-            throw new IllegalStateException("Booking end date cannot be equal to booking start date");
+    @Override
+    @Transactional
+    public List<BookingResponseDto> addAll(Long userId, List<BookingDto> bookingDtos) {
+        userIdCache.require(userId);
+
+        Set<Long> itemIds = bookingDtos.stream()
+                .map(BookingDto::getItemId)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        List<Booking> bookings = new ArrayList<>(bookingDtos.size());
+
+        for (BookingDto bookingDto : bookingDtos) {
+            Long itemId = bookingDto.getItemId();
+            Item item = items.get(itemId);
+
+            if (item == null) {
+                throw new NoSuchElementException(String.format("Item %d not found", itemId));
+            }
+
+            bookings.add(toBooking(userId, item, bookingDto));
         }
 
-        Booking booking = Booking.builder()
-                .item(item)
-                .booker(user)
-                .start(bookingDto.getStart())
-                .end(bookingDto.getEnd())
-                .status(BookingStatus.WAITING)
-                .build();
+        List<Booking> savedBookings = bookingRepository.saveAll(bookings);
 
-        return MapperBooking.toBookingResponseDto(bookingRepository.save(booking));
+        savedBookings.forEach(bookingSchedule::reserve);
+
+        return savedBookings.stream()
+                .map(MapperBooking::toBookingResponseDto)
+                .collect(Collectors.toList());
     }
 
     @Override
     @Transactional
     public BookingResponseDto update(Long userId, Long bookingId, Boolean approved) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException(String.format("User %d not found", userId)));
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new NoSuchElementException(String.format("Booking %d not found", bookingId)));
+        userIdCache.require(userId);
+        Booking booking = findBooking(bookingId);
 
         if (!booking.getItem().isOwnedBy(userId)) {
             Long itemId = booking.getItem().getId();
@@ -97,15 +135,17 @@ public class BookingServiceImpl implements BookingService {
 
         booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
 
+        if (!approved) {
+            bookingSchedule.release(booking);
+        }
+
         return MapperBooking.toBookingResponseDto(bookingRepository.save(booking));
     }
 
     @Override
     public BookingResponseDto findByUserIdAndBookingId(Long userId, Long bookingId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException(String.format("User %d not found", userId)));
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new NoSuchElementException(String.format("Booking %d not found", bookingId)));
+        userIdCache.require(userId);
+        Booking booking = findBooking(bookingId);
 
         boolean ownedBy = booking.getItem().isOwnedBy(userId);
         boolean bookedBy = booking.getBooker().getId().equals(userId);
@@ -121,18 +161,26 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<BookingResponseDto> findAllByBookerId(Long userId, String state, Integer from, Integer size) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException(String.format("User %d not found", userId)));
+        userIdCache.require(userId);
         BookingState bookingState = BookingState.toEnum(state)
                 .orElseThrow(() -> new IllegalStateException(String.format("Unknown state: %s", state)));
 
-        List<Booking> bookings = new ArrayList<>();
+        List<BookingResponseDto> bookings = new ArrayList<>();
 
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "start"));
+        Pageable pageable = OffsetPageRequest.of(from, size, NEWEST_FIRST_SORT);
 
         switch (bookingState) {
             case ALL:
-                bookings.addAll(bookingRepository.findAllByBookerId(userId, pageable));
+                bookings.addAll(mergedPage(
+                        (last, page) -> last == null
+                                ? bookingRepository.findAllByBookerId(userId, page)
+                                : bookingRepository.findAllByBookerIdAfter(userId, last.getStart(), last.getId(), page),
+                        (last, page) -> last == null
+                                ? archivedBookingRepository.findAllByBookerId(userId, page)
+                                : archivedBookingRepository.findAllByBookerIdAfter(
+                                        userId, last.getStart(), last.getId(), page),
+                        from,
+                        size));
                 break;
             case CURRENT:
                 bookings.addAll(bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfter(
@@ -142,10 +190,19 @@ public class BookingServiceImpl implements BookingService {
                         pageable));
                 break;
             case PAST:
-                bookings.addAll(bookingRepository.findAllByBookerIdAndEndBefore(
-                        userId,
-                        LocalDateTime.now(),
-                        pageable));
+                LocalDateTime bookerNow = LocalDateTime.now();
+
+                bookings.addAll(mergedPage(
+                        (last, page) -> last == null
+                                ? bookingRepository.findAllByBookerIdAndEndBefore(userId, bookerNow, page)
+                                : bookingRepository.findPastByBookerIdAfter(
+                                        userId, bookerNow, last.getStart(), last.getId(), page),
+                        (last, page) -> last == null
+                                ? archivedBookingRepository.findAllByBookerId(userId, page)
+                                : archivedBookingRepository.findAllByBookerIdAfter(
+                                        userId, last.getStart(), last.getId(), page),
+                        from,
+                        size));
                 break;
             case FUTURE:
                 bookings.addAll(bookingRepository.findAllByBookerIdAndStartAfter(
@@ -167,61 +224,319 @@ public class BookingServiceImpl implements BookingService {
                 break;
         }
 
-        return bookings.stream()
-                .map(MapperBooking::toBookingResponseDto)
-                .collect(Collectors.toList());
+        return bookings;
+    }
+
+    @Override
+    public List<BookingResponseDto> findAllByBookerIdAfter(Long userId, String state, String after, Integer size) {
+        userIdCache.require(userId);
+        BookingState bookingState = BookingState.toEnum(state)
+                .orElseThrow(() -> new IllegalStateException(String.format("Unknown state: %s", state)));
+        BookingCursor cursor = BookingCursor.decode(after);
+
+        List<BookingResponseDto> bookings = new ArrayList<>();
+
+        Pageable pageable = PageRequest.of(0, size);
+
+        switch (bookingState) {
+            case ALL:
+                bookings.addAll(merge(
+                        bookingRepository.findAllByBookerIdAfter(
+                                userId,
+                                cursor.getStart(),
+                                cursor.getId(),
+                                pageable),
+                        archivedBookingRepository.findAllByBookerIdAfter(
+                                userId,
+                                cursor.getStart(),
+                                cursor.getId(),
+                                pageable),
+                        0,
+                        size));
+                break;
+            case CURRENT:
+                bookings.addAll(bookingRepository.findCurrentByBookerIdAfter(
+                        userId,
+                        LocalDateTime.now(),
+                        cursor.getStart(),
+                        cursor.getId(),
+                        pageable));
+                break;
+            case PAST:
+                bookings.addAll(merge(
+                        bookingRepository.findPastByBookerIdAfter(
+                                userId,
+                                LocalDateTime.now(),
+                                cursor.getStart(),
+                                cursor.getId(),
+                                pageable),
+                        archivedBookingRepository.findAllByBookerIdAfter(
+                                userId,
+                                cursor.getStart(),
+                                cursor.getId(),
+                                pageable),
+                        0,
+                        size));
+                break;
+            case FUTURE:
+                bookings.addAll(bookingRepository.findFutureByBookerIdAfter(
+                        userId,
+                        LocalDateTime.now(),
+                        cursor.getStart(),
+                        cursor.getId(),
+                        pageable));
+                break;
+            case WAITING:
+                bookings.addAll(bookingRepository.findAllByBookerIdAndStatusAfter(
+                        userId,
+                        BookingStatus.WAITING,
+                        cursor.getStart(),
+                        cursor.getId(),
+                        pageable));
+                break;
+            case REJECTED:
+                bookings.addAll(bookingRepository.findAllByBookerIdAndStatusAfter(
+                        userId,
+                        BookingStatus.REJECTED,
+                        cursor.getStart(),
+                        cursor.getId(),
+                        pageable));
+                break;
+        }
+
+        return bookings;
     }
 
     @Override
     public List<BookingResponseDto> findAllByOwnerId(Long userId, String state, Integer from, Integer size) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException(String.format("User %d not found", userId)));
+        userIdCache.require(userId);
         BookingState bookingState = BookingState.toEnum(state)
                 .orElseThrow(() -> new IllegalStateException(String.format("Unknown state: %s", state)));
 
-        List<Booking> bookings = new ArrayList<>();
+        List<BookingResponseDto> bookings = new ArrayList<>();
 
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "start"));
+        Pageable pageable = OffsetPageRequest.of(from, size, NEWEST_FIRST_SORT);
 
         switch (bookingState) {
             case ALL:
-                bookings.addAll(bookingRepository.findAllByItemOwner(user, pageable));
+                bookings.addAll(mergedPage(
+                        (last, page) -> last == null
+                                ? bookingRepository.findAllByOwnerId(userId, page)
+                                : bookingRepository.findAllByOwnerIdAfter(userId, last.getStart(), last.getId(), page),
+                        (last, page) -> last == null
+                                ? archivedBookingRepository.findAllByOwnerId(userId, page)
+                                : archivedBookingRepository.findAllByOwnerIdAfter(
+                                        userId, last.getStart(), last.getId(), page),
+                        from,
+                        size));
                 break;
             case CURRENT:
-                bookings.addAll(bookingRepository.findAllByItemOwnerAndStartBeforeAndEndAfter(
-                        user,
+                bookings.addAll(bookingRepository.findAllByOwnerIdAndStartBeforeAndEndAfter(
+                        userId,
                         LocalDateTime.now(),
                         LocalDateTime.now(),
                         pageable));
                 break;
             case PAST:
-                bookings.addAll(bookingRepository.findAllByItemOwnerAndEndBefore(
-                        user,
+                LocalDateTime ownerNow = LocalDateTime.now();
+
+                bookings.addAll(mergedPage(
+                        (last, page) -> last == null
+                                ? bookingRepository.findAllByOwnerIdAndEndBefore(userId, ownerNow, page)
+                                : bookingRepository.findPastByOwnerIdAfter(
+                                        userId, ownerNow, last.getStart(), last.getId(), page),
+                        (last, page) -> last == null
+                                ? archivedBookingRepository.findAllByOwnerId(userId, page)
+                                : archivedBookingRepository.findAllByOwnerIdAfter(
+                                        userId, last.getStart(), last.getId(), page),
+                        from,
+                        size));
+                break;
+            case FUTURE:
+                bookings.addAll(bookingRepository.findAllByOwnerIdAndStartAfter(
+                        userId,
+                        LocalDateTime.now(),
+                        pageable));
+                break;
+            case WAITING:
+                bookings.addAll(bookingRepository.findAllByOwnerIdAndStatus(
+                        userId,
+                        BookingStatus.WAITING,
+                        pageable));
+                break;
+            case REJECTED:
+                bookings.addAll(bookingRepository.findAllByOwnerIdAndStatus(
+                        userId,
+                        BookingStatus.REJECTED,
+                        pageable));
+                break;
+        }
+
+        return bookings;
+    }
+
+    @Override
+    public List<BookingResponseDto> findAllByOwnerIdAfter(Long userId, String state, String after, Integer size) {
+        userIdCache.require(userId);
+        BookingState bookingState = BookingState.toEnum(state)
+                .orElseThrow(() -> new IllegalStateException(String.format("Unknown state: %s", state)));
+        BookingCursor cursor = BookingCursor.decode(after);
+
+        List<BookingResponseDto> bookings = new ArrayList<>();
+
+        Pageable pageable = PageRequest.of(0, size);
+
+        switch (bookingState) {
+            case ALL:
+                bookings.addAll(merge(
+                        bookingRepository.findAllByOwnerIdAfter(
+                                userId,
+                                cursor.getStart(),
+                                cursor.getId(),
+                                pageable),
+                        archivedBookingRepository.findAllByOwnerIdAfter(
+                                userId,
+                                cursor.getStart(),
+                                cursor.getId(),
+                                pageable),
+                        0,
+                        size));
+                break;
+            case CURRENT:
+                bookings.addAll(bookingRepository.findCurrentByOwnerIdAfter(
+                        userId,
                         LocalDateTime.now(),
+                        cursor.getStart(),
+                        cursor.getId(),
                         pageable));
                 break;
+            case PAST:
+                bookings.addAll(merge(
+                        bookingRepository.findPastByOwnerIdAfter(
+                                userId,
+                                LocalDateTime.now(),
+                                cursor.getStart(),
+                                cursor.getId(),
+                                pageable),
+                        archivedBookingRepository.findAllByOwnerIdAfter(
+                                userId,
+                                cursor.getStart(),
+                                cursor.getId(),
+                                pageable),
+                        0,
+                        size));
+                break;
             case FUTURE:
-                bookings.addAll(bookingRepository.findAllByItemOwnerAndStartAfter(
-                        user,
+                bookings.addAll(bookingRepository.findFutureByOwnerIdAfter(
+                        userId,
                         LocalDateTime.now(),
+                        cursor.getStart(),
+                        cursor.getId(),
                         pageable));
                 break;
             case WAITING:
-                bookings.addAll(bookingRepository.findAllByItemOwnerAndStatus(
-                        user,
+                bookings.addAll(bookingRepository.findAllByOwnerIdAndStatusAfter(
+                        userId,
                         BookingStatus.WAITING,
+                        cursor.getStart(),
+                        cursor.getId(),
                         pageable));
                 break;
             case REJECTED:
-                bookings.addAll(bookingRepository.findAllByItemOwnerAndStatus(
-                        user,
+                bookings.addAll(bookingRepository.findAllByOwnerIdAndStatusAfter(
+                        userId,
                         BookingStatus.REJECTED,
+                        cursor.getStart(),
+                        cursor.getId(),
                         pageable));
                 break;
         }
 
-        return bookings.stream()
-                .map(MapperBooking::toBookingResponseDto)
+        return bookings;
+    }
+
+    private Booking findBooking(Long bookingId) {
+        return bookingRepository.findById(bookingId)
+                .or(() -> archivedBookingRepository.findById(bookingId).map(ArchivedBooking::toBooking))
+                .orElseThrow(() -> new NoSuchElementException(String.format("Booking %d not found", bookingId)));
+    }
+
+    // Archived bookings have all ended, so both tiers are read newest first up to the requested page and merged.
+    // A step reads at most MERGE_STEP_ROWS rows per tier: deeper offsets are skipped a step at a time, each step
+    // resuming both tiers after the last booking skipped, so any "from" works without holding from + size rows
+    private static List<BookingResponseDto> mergedPage(MergedTier live, MergedTier archived, int from, int size) {
+        BookingResponseDto last = null;
+        long skip = from;
+
+        while (true) {
+            int rows = (int) Math.min(Math.max(MERGE_STEP_ROWS, size), skip + size);
+            Pageable pageable = last == null
+                    ? OffsetPageRequest.of(0, rows, NEWEST_FIRST_SORT)
+                    : PageRequest.of(0, rows);
+            List<BookingResponseDto> merged = merge(
+                    live.after(last, pageable),
+                    archived.after(last, pageable),
+                    0,
+                    rows);
+
+            if (skip + size <= rows || merged.size() < rows) {
+                return merged.stream()
+                        .skip(skip)
+                        .limit(size)
+                        .collect(Collectors.toList());
+            }
+
+            int skipped = (int) Math.min(skip, rows);
+
+            last = merged.get(skipped - 1);
+            skip -= skipped;
+        }
+    }
+
+    private static List<BookingResponseDto> merge(
+            List<BookingResponseDto> bookings,
+            List<BookingResponseDto> archivedBookings,
+            int skip,
+            int size) {
+        return Stream.concat(bookings.stream(), archivedBookings.stream())
+                .sorted(NEWEST_FIRST)
+                .skip(skip)
+                .limit(size)
                 .collect(Collectors.toList());
     }
+
+    private Booking toBooking(Long userId, Item item, BookingDto bookingDto) {
+        Long itemId = item.getId();
+
+        if (!item.getAvailable()) {
+            throw new IllegalStateException(String.format("Item %d is unavailable", itemId));
+        }
+
+        if (item.isOwnedBy(userId)) {
+            throw new NoSuchElementException(String.format("User %d can not book own item %d", userId, itemId));
+        }
+
+        if (bookingDto.getEnd().isBefore(bookingDto.getStart())) {
+            throw new IllegalStateException("Booking end date cannot be earlier booking start date");
+        }
+
+        if (bookingDto.getStart().isEqual(bookingDto.getEnd())) {
+            throw new IllegalStateException("Booking end date cannot be equal to booking start date");
+        }
+
+        return Booking.builder()
+                .item(item)
+                .booker(userRepository.getReferenceById(userId))
+                .owner(item.getOwner())
+                .start(bookingDto.getStart())
+                .end(bookingDto.getEnd())
+                .status(BookingStatus.WAITING)
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface MergedTier {
+        // Newest first bookings after the given one, or from the newest when it is null
+        List<BookingResponseDto> after(BookingResponseDto last, Pageable pageable);
+    }
 }
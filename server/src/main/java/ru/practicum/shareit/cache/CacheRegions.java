@@ -0,0 +1,14 @@
+package ru.practicum.shareit.cache;
+
+public final class CacheRegions {
+    public static final String USERS = "users";
+
+    public static final String ITEMS = "items";
+
+    public static final String REQUESTS = "requests";
+
+    public static final String COMMENTS_BY_ITEM = "comments-by-item";
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.datasource;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.headers.WithUserHeaderID;
+
+public class ReadYourWritesFilter extends OncePerRequestFilter implements WithUserHeaderID {
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ReplicaRoutingDataSource.setCurrentUser(parseUserId(request.getHeader(HEADER_USER_ID)));
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.clearCurrentUser();
+        }
+    }
+
+    // Malformed ids are rejected by the controllers, here they only mean there is no user to track
+    private static Long parseUserId(String header) {
+        if (header == null) {
+            return null;
+        }
+
+        try {
+            return Long.valueOf(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.datasource;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+@Configuration
+@ConditionalOnProperty(name = ReplicaRoutingConfig.PROPERTY)
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReplicaRoutingConfig {
+    public static final String PROPERTY = "shareit.datasource.replicas[0].url";
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties dataSourceProperties,
+            ReplicaRoutingProperties properties) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicaRoutingProperties.Replica> configured = properties.getReplicas();
+
+        for (int i = 0; i < configured.size(); i++) {
+            String name = "replica-" + i;
+
+            replicas.put(name, replicaDataSource(name, configured.get(i), dataSourceProperties, properties));
+        }
+
+        return new ReplicaRoutingDataSource(
+                primaryDataSource,
+                replicas,
+                properties.getReadYourWritesWindow(),
+                properties.getReplicaConnectionTimeout());
+    }
+
+    // The routing decision depends on the read-only flag, which Spring only exposes after the transaction has
+    // begun, so the physical connection has to be fetched lazily on the first statement
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter();
+    }
+
+    private static HikariDataSource replicaDataSource(
+            String name,
+            ReplicaRoutingProperties.Replica replica,
+            DataSourceProperties primary,
+            ReplicaRoutingProperties properties) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replica.getUrl())
+                .username(replica.getUsername() != null ? replica.getUsername() : primary.determineUsername())
+                .password(replica.getPassword() != null ? replica.getPassword() : primary.determinePassword())
+                .build();
+
+        dataSource.setPoolName(name);
+        dataSource.setReadOnly(true);
+        dataSource.setConnectionTimeout(properties.getReplicaConnectionTimeout().toMillis());
+        // A replica that is down at startup must not stop the server, it is picked up by the next health check
+        dataSource.setInitializationFailTimeout(-1);
+
+        return dataSource;
+    }
+}
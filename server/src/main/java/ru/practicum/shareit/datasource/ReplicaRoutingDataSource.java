@@ -0,0 +1,199 @@
+package ru.practicum.shareit.datasource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder, Closeable {
+    static final String PRIMARY = "primary";
+
+    private static final String METRIC = "shareit.datasource.routing";
+
+    private static final ThreadLocal<Long> CURRENT_USER = new ThreadLocal<>();
+
+    private final List<Replica> replicas = new ArrayList<>();
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Map<Long, Long> recentWrites = new ConcurrentHashMap<>();
+
+    private final long readYourWritesWindowNanos;
+
+    private final int validationTimeoutSeconds;
+
+    private final LongAdder writes = new LongAdder();
+
+    private final LongAdder readYourWrites = new LongAdder();
+
+    private final LongAdder replicaReads = new LongAdder();
+
+    private final LongAdder fallbackReads = new LongAdder();
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            Map<String, DataSource> replicas,
+            Duration readYourWritesWindow,
+            Duration validationTimeout) {
+        Map<Object, Object> targets = new HashMap<>(replicas);
+
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.readYourWritesWindowNanos = readYourWritesWindow.toNanos();
+        this.validationTimeoutSeconds = (int) Math.max(1, validationTimeout.toSeconds());
+    }
+
+    // Bound after construction because the registry itself depends on every DataSource for pool metrics
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindRoute(registry, "read-write", writes);
+        bindRoute(registry, "read-your-writes", readYourWrites);
+        bindRoute(registry, "replica", replicaReads);
+        bindRoute(registry, "no-healthy-replica", fallbackReads);
+
+        Gauge.builder(METRIC + ".healthy.replicas", replicas, r -> r.stream().filter(Replica::isHealthy).count())
+                .register(registry);
+    }
+
+    public static void setCurrentUser(Long userId) {
+        CURRENT_USER.set(userId);
+    }
+
+    public static void clearCurrentUser() {
+        CURRENT_USER.remove();
+    }
+
+    // Read-only transactions go to the next healthy replica unless the same user committed a write within the
+    // window, in which case the replica may still lag behind it; everything else stays on the primary
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long userId = CURRENT_USER.get();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+
+            if (userId != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recentWrites.put(userId, System.nanoTime() + readYourWritesWindowNanos);
+                    }
+                });
+            }
+
+            return PRIMARY;
+        }
+
+        if (userId != null && wroteRecently(userId)) {
+            readYourWrites.increment();
+
+            return PRIMARY;
+        }
+
+        int start = next.getAndIncrement();
+
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+
+            if (replica.isHealthy()) {
+                replicaReads.increment();
+
+                return replica.name;
+            }
+        }
+
+        fallbackReads.increment();
+
+        return PRIMARY;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.datasource.health-check-interval:PT5S}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy = isValid(replica.dataSource);
+
+            if (healthy != replica.healthy) {
+                if (healthy) {
+                    log.info("Replica {} is back, routing read-only transactions to it", replica.name);
+                } else {
+                    log.warn("Replica {} failed its health check, routing around it", replica.name);
+                }
+
+                replica.healthy = healthy;
+            }
+        }
+
+        long now = System.nanoTime();
+
+        recentWrites.values().removeIf(expiresAt -> expiresAt - now <= 0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable) {
+                ((Closeable) replica.dataSource).close();
+            }
+        }
+    }
+
+    private static void bindRoute(MeterRegistry registry, String route, LongAdder count) {
+        FunctionCounter.builder(METRIC, count, LongAdder::sum)
+                .tag("route", route)
+                .register(registry);
+    }
+
+    private boolean wroteRecently(Long userId) {
+        Long expiresAt = recentWrites.get(userId);
+
+        return expiresAt != null && expiresAt - System.nanoTime() > 0;
+    }
+
+    private boolean isValid(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(validationTimeoutSeconds);
+        } catch (SQLException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+
+        private final DataSource dataSource;
+
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private boolean isHealthy() {
+            return healthy;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.datasource")
+public class ReplicaRoutingProperties {
+    private List<Replica> replicas = new ArrayList<>();
+
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    private Duration replicaConnectionTimeout = Duration.ofSeconds(2);
+
+    @Data
+    public static class Replica {
+        private String url;
+
+        private String username;
+
+        private String password;
+    }
+}
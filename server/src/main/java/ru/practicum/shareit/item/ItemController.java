@@ -1,10 +1,12 @@
 package ru.practicum.shareit.item;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -17,6 +19,7 @@ import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.headers.WithUserHeaderID;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.service.ItemService;
@@ -41,6 +44,15 @@ public class ItemController implements WithUserHeaderID {
         return itemService.add(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public List<ItemResponseDto> addAll(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @RequestBody List<ItemDto> itemDtos) {
+        log.info("Request to add user {} items, count {}", userId, itemDtos.size());
+
+        return itemService.addAll(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemResponseDto update(
             @RequestHeader(HEADER_USER_ID) Long userId,
@@ -90,4 +102,15 @@ public class ItemController implements WithUserHeaderID {
 
         return itemService.addComment(userId, commentDto, itemId);
     }
+
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto findAvailability(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @PathVariable("itemId") Long itemId,
+            @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Request to load user {} item {} availability from {} to {}", userId, itemId, from, to);
+
+        return itemService.findAvailability(userId, itemId, from, to);
+    }
 }
@@ -2,11 +2,13 @@ package ru.practicum.shareit.item.dto;
 
 import java.time.LocalDateTime;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
 @Builder
 @Data
+@AllArgsConstructor
 public class CommentResponseDto {
     private Long id;
 
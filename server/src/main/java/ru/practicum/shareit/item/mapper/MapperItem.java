@@ -1,9 +1,11 @@
 package ru.practicum.shareit.item.mapper;
 
 import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.item.dto.ItemBookingResponseDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemDetails;
 
 @UtilityClass
 public class MapperItem {
@@ -48,4 +50,27 @@ public class MapperItem {
                 .requestId(requestId)
                 .build();
     }
+
+    public ItemResponseDto toItemResponseDto(ItemDetails itemDetails) {
+        return ItemResponseDto.builder()
+                .id(itemDetails.getId())
+                .name(itemDetails.getName())
+                .description(itemDetails.getDescription())
+                .available(itemDetails.getAvailable())
+                .requestId(itemDetails.getRequestId())
+                .lastBooking(toItemBookingResponseDto(itemDetails.getLastBookingId(), itemDetails.getLastBookerId()))
+                .nextBooking(toItemBookingResponseDto(itemDetails.getNextBookingId(), itemDetails.getNextBookerId()))
+                .build();
+    }
+
+    private ItemBookingResponseDto toItemBookingResponseDto(Long bookingId, Long bookerId) {
+        if (bookingId == null) {
+            return null;
+        }
+
+        return ItemBookingResponseDto.builder()
+                .id(bookingId)
+                .bookerId(bookerId)
+                .build();
+    }
 }
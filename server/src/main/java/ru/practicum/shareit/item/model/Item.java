@@ -1,12 +1,19 @@
 package ru.practicum.shareit.item.model;
 
+import java.util.Locale;
+
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 
 import lombok.AccessLevel;
@@ -16,6 +23,9 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ru.practicum.shareit.cache.CacheRegions;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
@@ -25,9 +35,12 @@ import ru.practicum.shareit.user.User;
 @AllArgsConstructor
 @Entity
 @Table(name = "items", schema = "public")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ITEMS)
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false)
@@ -39,16 +52,33 @@ public class Item {
     @Column(name = "available", nullable = false)
     private Boolean available;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "owner_id", nullable = false)
     private User owner;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id")
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     private ItemRequest request;
 
+    @Column(name = "name_normalized", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private String nameNormalized;
+
+    @Column(name = "description_normalized", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private String descriptionNormalized;
+
+    @PrePersist
+    @PreUpdate
+    public void normalize() {
+        nameNormalized = name.toLowerCase(Locale.ROOT);
+        descriptionNormalized = description.toLowerCase(Locale.ROOT);
+    }
+
     public Boolean isAvailable() {
         return available;
     }
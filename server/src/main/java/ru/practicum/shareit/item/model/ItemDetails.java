@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.model;
+
+public interface ItemDetails {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Long getRequestId();
+
+    Boolean getUserExists();
+
+    Long getLastBookingId();
+
+    Long getLastBookerId();
+
+    Long getNextBookingId();
+
+    Long getNextBookerId();
+}
@@ -2,11 +2,40 @@ package ru.practicum.shareit.item.repository;
 
 import java.util.List;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.cache.CacheRegions;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
 import ru.practicum.shareit.item.model.Comment;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = CacheRegions.COMMENTS_BY_ITEM)})
+    @EntityGraph(attributePaths = "author")
     List<Comment> findByItemId(Long itemId);
 
+    @EntityGraph(attributePaths = "author")
     List<Comment> findAllByItemIdIn(List<Long> itemIds);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentResponseDto(c.id, c.text, a.name, c.created, c.item.id) " +
+            "FROM Comment AS c " +
+            "JOIN c.author AS a " +
+            "WHERE c.item.id = ?1 " +
+            "ORDER BY c.id")
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = CacheRegions.COMMENTS_BY_ITEM)})
+    List<CommentResponseDto> findResponsesByItemId(Long itemId);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentResponseDto(c.id, c.text, a.name, c.created, c.item.id) " +
+            "FROM Comment AS c " +
+            "JOIN c.author AS a " +
+            "WHERE c.item.id IN ?1 " +
+            "ORDER BY c.id")
+    List<CommentResponseDto> findResponsesByItemIdIn(List<Long> itemIds);
 }
@@ -1,11 +1,16 @@
 package ru.practicum.shareit.item.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemDetails;
+import ru.practicum.shareit.item.search.ItemDocument;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
     @Query("SELECT i FROM Item as i " +
@@ -14,5 +19,64 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             "LOWER(i.description) LIKE LOWER(CONCAT('%', ?1, '%') ))")
     List<Item> searchAvailableItemsByNameAndDescription(String name, Pageable pageable);
 
+    @Query("SELECT i FROM Item as i " +
+            "WHERE i.available = true and " +
+            "(i.nameNormalized LIKE CONCAT('%', ?1, '%') or " +
+            "i.descriptionNormalized LIKE CONCAT('%', ?1, '%'))")
+    List<Item> searchAvailableItemsByNormalizedText(String normalizedText, Pageable pageable);
+
     List<Item> findAllByOwnerId(Long ownerId, Pageable pageable);
+
+    @Query("SELECT i FROM Item AS i " +
+            "WHERE i.request.id IN ?1 " +
+            "ORDER BY i.id")
+    List<Item> findAllByRequestIdInOrderById(Collection<Long> requestIds);
+
+    @Query("SELECT new ru.practicum.shareit.item.search.ItemDocument(i.id, i.name, i.description, i.available) " +
+            "FROM Item AS i " +
+            "WHERE i.id > ?1 " +
+            "ORDER BY i.id")
+    List<ItemDocument> findDocumentsAfter(Long id, Pageable pageable);
+
+    @Query(value = "SELECT d.*, lb.booker_id AS lastBookerId, nb.booker_id AS nextBookerId " +
+            "FROM (" +
+            "SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available, " +
+            "i.request_id AS requestId, " +
+            "EXISTS (SELECT 1 FROM users AS u WHERE u.id = ?2) AS userExists, " +
+            "CASE WHEN i.owner_id = ?2 THEN (" +
+            "SELECT b.id FROM bookings AS b " +
+            "WHERE b.item_id = i.id AND b.status = 'APPROVED' AND b.start_date <= ?3 " +
+            "ORDER BY b.start_date DESC, b.id DESC LIMIT 1) END AS lastBookingId, " +
+            "CASE WHEN i.owner_id = ?2 THEN (" +
+            "SELECT b.id FROM bookings AS b " +
+            "WHERE b.item_id = i.id AND b.status = 'APPROVED' AND b.start_date > ?3 " +
+            "ORDER BY b.start_date, b.id LIMIT 1) END AS nextBookingId " +
+            "FROM items AS i " +
+            "WHERE i.id = ?1) AS d " +
+            "LEFT JOIN bookings AS lb ON lb.id = d.lastBookingId " +
+            "LEFT JOIN bookings AS nb ON nb.id = d.nextBookingId",
+            nativeQuery = true)
+    Optional<ItemDetails> findDetailsById(Long itemId, Long userId, LocalDateTime now);
+
+    @Query(value = "SELECT d.*, lb.booker_id AS lastBookerId, nb.booker_id AS nextBookerId " +
+            "FROM (" +
+            "SELECT p.id AS id, p.name AS name, p.description AS description, p.available AS available, " +
+            "p.request_id AS requestId, " +
+            "TRUE AS userExists, " +
+            "(SELECT b.id FROM bookings AS b " +
+            "WHERE b.item_id = p.id AND b.status = 'APPROVED' AND b.start_date <= ?2 " +
+            "ORDER BY b.start_date DESC, b.id DESC LIMIT 1) AS lastBookingId, " +
+            "(SELECT b.id FROM bookings AS b " +
+            "WHERE b.item_id = p.id AND b.status = 'APPROVED' AND b.start_date > ?2 " +
+            "ORDER BY b.start_date, b.id LIMIT 1) AS nextBookingId " +
+            "FROM (" +
+            "SELECT * FROM items AS i " +
+            "WHERE i.owner_id = ?1 " +
+            "ORDER BY i.id " +
+            "LIMIT ?3 OFFSET ?4) AS p) AS d " +
+            "LEFT JOIN bookings AS lb ON lb.id = d.lastBookingId " +
+            "LEFT JOIN bookings AS nb ON nb.id = d.nextBookingId " +
+            "ORDER BY d.id",
+            nativeQuery = true)
+    List<ItemDetails> findDetailsByOwnerId(Long ownerId, LocalDateTime now, int limit, long offset);
 }
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+@Component
+@ConditionalOnProperty(name = ItemSearchBackend.PROPERTY, havingValue = "index", matchIfMissing = true)
+public class IndexItemSearchBackend implements ItemSearchBackend {
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemRepository itemRepository;
+
+    @Autowired
+    public IndexItemSearchBackend(ItemSearchIndex itemSearchIndex, ItemRepository itemRepository) {
+        this.itemSearchIndex = itemSearchIndex;
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        List<Long> itemIds = itemSearchIndex.search(text, from, size);
+
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        return itemIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void index(Item item) {
+        itemSearchIndex.put(item);
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Locale;
+
+import lombok.Getter;
+import ru.practicum.shareit.item.model.Item;
+
+@Getter
+public class ItemDocument {
+    private final Long id;
+
+    private final String name;
+
+    private final String description;
+
+    private final boolean available;
+
+    public ItemDocument(Long id, String name, String description, Boolean available) {
+        this.id = id;
+        this.name = name.toLowerCase(Locale.ROOT);
+        this.description = description.toLowerCase(Locale.ROOT);
+        this.available = Boolean.TRUE.equals(available);
+    }
+
+    public static ItemDocument of(Item item) {
+        return new ItemDocument(item.getId(), item.getName(), item.getDescription(), item.getAvailable());
+    }
+
+    public boolean matches(String text) {
+        return available && (name.contains(text) || description.contains(text));
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+
+import ru.practicum.shareit.item.model.Item;
+
+public interface ItemSearchBackend {
+    String PROPERTY = "shareit.search.backend";
+
+    List<Item> search(String text, int from, int size);
+
+    default void index(Item item) {
+    }
+}
@@ -0,0 +1,232 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = ItemSearchBackend.PROPERTY, havingValue = "index", matchIfMissing = true)
+public class ItemSearchIndex {
+    private static final int REBUILD_BATCH_SIZE = 10_000;
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ItemRepository itemRepository;
+
+    // Keyed by every suffix of every word, so a prefix range over the keys finds words containing the query
+    // anywhere, which keeps the LIKE '%text%' semantics of the other backends
+    private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+
+    private final Map<Long, ItemDocument> documents = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public ItemSearchIndex(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        lock.writeLock().lock();
+
+        try {
+            postings.clear();
+            documents.clear();
+
+            Long lastId = 0L;
+            List<ItemDocument> batch;
+
+            do {
+                batch = itemRepository.findDocumentsAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                batch.forEach(this::apply);
+
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+
+            log.info("Item search index rebuilt with {} available items", documents.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The document is captured now but only becomes searchable once the write transaction commits,
+    // so a rolled back insert or update never shows up in results
+    public void put(Item item) {
+        ItemDocument document = ItemDocument.of(item);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(document);
+
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(document);
+            }
+        });
+    }
+
+    public void put(ItemDocument document) {
+        lock.writeLock().lock();
+
+        try {
+            apply(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String text, int from, int size) {
+        String query = text.toLowerCase(Locale.ROOT);
+        List<String> tokens = tokenize(query).stream()
+                .sorted(Comparator.comparing(String::length).reversed())
+                .collect(Collectors.toList());
+
+        lock.readLock().lock();
+
+        try {
+            return search(query, tokens, from, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(ItemDocument document) {
+        Long id = document.getId();
+        ItemDocument previous = documents.remove(id);
+
+        Set<String> previousTokens = previous == null ? Collections.emptySet() : suffixes(previous);
+        Set<String> tokens = document.isAvailable() ? suffixes(document) : Collections.emptySet();
+
+        previousTokens.stream()
+                .filter(token -> !tokens.contains(token))
+                .forEach(token -> removePosting(token, id));
+        tokens.stream()
+                .filter(token -> !previousTokens.contains(token))
+                .forEach(token -> postings.computeIfAbsent(token, key -> new HashSet<>()).add(id));
+
+        if (document.isAvailable()) {
+            documents.put(id, document);
+        }
+    }
+
+    private List<Long> search(String query, List<String> tokens, int from, int size) {
+        // A query of separators only, such as "-", has no words to look up, so every document is checked instead
+        if (tokens.isEmpty()) {
+            return matchingPage(documents.keySet(), query, from, size);
+        }
+
+        Set<Long> candidates = substringMatches(tokens.get(0));
+
+        for (String token : tokens.subList(1, tokens.size())) {
+            if (candidates.isEmpty()) {
+                break;
+            }
+
+            candidates.retainAll(substringMatches(token));
+        }
+
+        return matchingPage(candidates, query, from, size);
+    }
+
+    private List<Long> matchingPage(Set<Long> candidates, String query, int from, int size) {
+        long[] ids = candidates.stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+        Arrays.sort(ids);
+
+        List<Long> page = new ArrayList<>(size);
+        int skipped = 0;
+
+        for (long id : ids) {
+            ItemDocument document = documents.get(id);
+
+            if (document == null || !document.matches(query)) {
+                continue;
+            }
+
+            if (skipped < from) {
+                skipped++;
+                continue;
+            }
+
+            page.add(id);
+
+            if (page.size() == size) {
+                break;
+            }
+        }
+
+        return page;
+    }
+
+    private Set<Long> substringMatches(String token) {
+        Set<Long> ids = new HashSet<>();
+
+        postings.subMap(token, true, token + Character.MAX_VALUE, true)
+                .values()
+                .forEach(ids::addAll);
+
+        return ids;
+    }
+
+    private void removePosting(String token, Long id) {
+        postings.computeIfPresent(token, (key, ids) -> {
+            ids.remove(id);
+
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static Set<String> suffixes(ItemDocument document) {
+        Set<String> words = tokenize(document.getName());
+        words.addAll(tokenize(document.getDescription()));
+
+        Set<String> suffixes = new HashSet<>();
+
+        for (String word : words) {
+            for (int i = 0; i < word.length(); i++) {
+                suffixes.add(word.substring(i));
+            }
+        }
+
+        return suffixes;
+    }
+
+    private static Set<String> tokenize(String text) {
+        return TOKEN_SEPARATOR.splitAsStream(text)
+                .filter(token -> !token.isEmpty())
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+}
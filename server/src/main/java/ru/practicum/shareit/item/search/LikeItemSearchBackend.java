@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+
+@Component
+@ConditionalOnProperty(name = ItemSearchBackend.PROPERTY, havingValue = "like")
+public class LikeItemSearchBackend implements ItemSearchBackend {
+    // Same order and offset as the index backend, so every backend returns the same page for the same request
+    private static final Sort BY_ID = Sort.by("id");
+
+    private final ItemRepository itemRepository;
+
+    @Autowired
+    public LikeItemSearchBackend(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        return itemRepository.searchAvailableItemsByNameAndDescription(text, OffsetPageRequest.of(from, size, BY_ID));
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+
+@Component
+@ConditionalOnProperty(name = ItemSearchBackend.PROPERTY, havingValue = "trigram")
+public class TrigramItemSearchBackend implements ItemSearchBackend {
+    // Ordered by id and offset by row, like the other backends
+    private static final Sort BY_ID = Sort.by("id");
+
+    private final ItemRepository itemRepository;
+
+    @Autowired
+    public TrigramItemSearchBackend(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        return itemRepository.searchAvailableItemsByNormalizedText(
+                text.toLowerCase(Locale.ROOT),
+                OffsetPageRequest.of(from, size, BY_ID));
+    }
+}
@@ -1,15 +1,19 @@
 package ru.practicum.shareit.item.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 
 public interface ItemService {
     ItemResponseDto add(Long userId, ItemDto itemDto);
 
+    List<ItemResponseDto> addAll(Long userId, List<ItemDto> itemDtos);
+
     ItemResponseDto update(Long userId, Long itemId, ItemDto itemDto);
 
     List<ItemResponseDto> findAllByUserId(Long userId, Integer from, Integer size);
@@ -19,4 +23,6 @@ public interface ItemService {
     ItemResponseDto findOneById(Long userId, Long itemId);
 
     CommentResponseDto addComment(Long userId, CommentDto commentDto, Long itemId);
+
+    ItemAvailabilityDto findAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to);
 }
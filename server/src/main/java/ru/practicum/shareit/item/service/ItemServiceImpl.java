@@ -1,78 +1,105 @@
 package ru.practicum.shareit.item.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.dto.BookingResponseDto;
-import ru.practicum.shareit.booking.mapper.MapperBooking;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.archive.ArchivedBookingRepository;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.schedule.BookingInterval;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
-import ru.practicum.shareit.item.dto.ItemBookingResponseDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.mapper.MapperComment;
 import ru.practicum.shareit.item.mapper.MapperItem;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemDetails;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchBackend;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
-import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.cache.UserIdCache;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toUnmodifiableList;
 
 @Service
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
+    private static final List<BookingStatus> RESERVING_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchBackend itemSearchBackend;
+    private final UserIdCache userIdCache;
 
     @Autowired
     public ItemServiceImpl(
             ItemRepository itemRepository,
             UserRepository userRepository,
             CommentRepository commentRepository,
-            BookingRepository bookingRepository, ItemRequestRepository itemRequestRepository) {
+            BookingRepository bookingRepository,
+            ArchivedBookingRepository archivedBookingRepository,
+            ItemRequestRepository itemRequestRepository,
+            ItemSearchBackend itemSearchBackend,
+            UserIdCache userIdCache) {
         this.itemRepository = itemRepository;
         this.commentRepository = commentRepository;
         this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
         this.userRepository = userRepository;
         this.itemRequestRepository = itemRequestRepository;
+        this.itemSearchBackend = itemSearchBackend;
+        this.userIdCache = userIdCache;
     }
 
     @Override
     @Transactional
     public ItemResponseDto add(Long userId, ItemDto itemDto) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException(String.format("User %d not found", userId)));
+        userIdCache.require(userId);
 
-        Item item = MapperItem.toItem(itemDto);
-        item.setOwner(user);
+        Item savedItem = itemRepository.save(toItem(userId, itemDto));
 
-        if (itemDto.getRequestId() != null) {
-            item.setRequest(itemRequestRepository.getReferenceById(itemDto.getRequestId()));
-        }
+        itemSearchBackend.index(savedItem);
+
+        return MapperItem.toItemResponseDto(savedItem);
+    }
 
-        return MapperItem.toItemResponseDto(itemRepository.save(item));
+    @Override
+    @Transactional
+    public List<ItemResponseDto> addAll(Long userId, List<ItemDto> itemDtos) {
+        userIdCache.require(userId);
+
+        List<Item> items = itemDtos.stream()
+                .map(itemDto -> toItem(userId, itemDto))
+                .collect(toList());
+
+        List<Item> savedItems = itemRepository.saveAll(items);
+
+        savedItems.forEach(itemSearchBackend::index);
+
+        return savedItems.stream()
+                .map(MapperItem::toItemResponseDto)
+                .collect(toList());
     }
 
     @Override
@@ -101,143 +128,80 @@ public class ItemServiceImpl implements ItemService {
         }
 
         itemRepository.save(item);
+        itemSearchBackend.index(item);
 
         return MapperItem.toItemResponseDto(item);
     }
 
     @Override
     public ItemResponseDto findOneById(Long userId, Long itemId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException(String.format("User %d not found", userId)));
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new NoSuchElementException(String.format("Item with id %d not found", itemId)));
-
-        ItemResponseDto.ItemResponseDtoBuilder itemResponseDtoBuilder = MapperItem.toItemResponseDto(item).toBuilder();
-
-        if (item.isOwnedBy(userId)) {
-            Booking last = bookingRepository
-                    .findFirstByItemIdAndItemOwnerIdAndStartBeforeAndStatus(
-                            item.getId(),
-                            userId,
-                            LocalDateTime.now(),
-                            BookingStatus.APPROVED,
-                            Sort.by(Sort.Direction.DESC, "start"));
-
-            if (last != null) {
-                itemResponseDtoBuilder.lastBooking(ItemBookingResponseDto.builder()
-                                .id(last.getId())
-                                .bookerId(last.getBooker().getId())
-                        .build());
-            }
+        ItemDetails itemDetails = itemRepository.findDetailsById(itemId, userId, LocalDateTime.now())
+                .orElseThrow(() -> userIdCache.exists(userId)
+                        ? new NoSuchElementException(String.format("Item with id %d not found", itemId))
+                        : new NoSuchElementException(String.format("User %d not found", userId)));
 
-            Booking next = bookingRepository
-                    .findFirstByItemIdAndItemOwnerIdAndStartAfterAndStatus(
-                            item.getId(),
-                            userId,
-                            LocalDateTime.now(),
-                            BookingStatus.APPROVED,
-                            Sort.by(Sort.Direction.ASC, "start"));
-
-            if (next != null) {
-                itemResponseDtoBuilder.nextBooking(ItemBookingResponseDto.builder()
-                        .id(next.getId())
-                        .bookerId(next.getBooker().getId())
-                        .build());
-            }
+        if (!itemDetails.getUserExists()) {
+            throw new NoSuchElementException(String.format("User %d not found", userId));
         }
 
-        List<CommentResponseDto> comments = commentRepository.findByItemId(itemId).stream()
-                .map(MapperComment::toCommentResponseDto)
-                .collect(toList());
-
-        itemResponseDtoBuilder.comments(comments);
-
-        return itemResponseDtoBuilder.build();
+        return MapperItem.toItemResponseDto(itemDetails).toBuilder()
+                .comments(commentRepository.findResponsesByItemId(itemId))
+                .build();
     }
 
     @Override
     public List<ItemResponseDto> findAllByUserId(Long userId, Integer from, Integer size) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException(String.format("User %d not found", userId)));
+        userIdCache.require(userId);
 
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by(Sort.Direction.ASC, "id"));
+        // The native query takes the row offset as is, so a "from" that is not a multiple of "size" is honoured
+        List<ItemDetails> userItems = itemRepository.findDetailsByOwnerId(userId, LocalDateTime.now(), size, from);
 
-        List<Item> userItems = itemRepository.findAllByOwnerId(userId, pageable);
+        if (userItems.isEmpty()) {
+            return Collections.emptyList();
+        }
 
         List<Long> userItemIdList = userItems.stream()
-                .map(Item::getId)
+                .map(ItemDetails::getId)
                 .collect(toList());
 
-        Map<Long, List<CommentResponseDto>> comments = commentRepository.findAllByItemIdIn(userItemIdList).stream()
-                .map(MapperComment::toCommentResponseDto)
-                .collect(groupingBy(CommentResponseDto::getItemId, toList()));
-
-        Map<Long, List<BookingResponseDto>> bookings = bookingRepository.findAllByItemInAndStatus(
-                        userItems,
-                        BookingStatus.APPROVED,
-                        PageRequest.of(from / size, size, Sort.by(Sort.Direction.ASC, "start")))
+        Map<Long, List<CommentResponseDto>> comments = commentRepository.findResponsesByItemIdIn(userItemIdList)
                 .stream()
-                .map(MapperBooking::toBookingResponseDto)
-                .collect(groupingBy(BookingResponseDto::getItemId, toList()));
+                .collect(groupingBy(CommentResponseDto::getItemId, toList()));
 
         return userItems
                 .stream()
-                .map(item -> {
-                    ItemResponseDto.ItemResponseDtoBuilder itemResponseDtoBuilder = MapperItem.toItemResponseDto(item)
-                            .toBuilder();
-
-                    itemResponseDtoBuilder.comments(comments.get(item.getId()));
-
-                    List<BookingResponseDto> itemBookings = bookings.get(item.getId());
-                    LocalDateTime filterDate = LocalDateTime.now();
-                    BookingResponseDto last = filterLastBooking(itemBookings, filterDate);
-                    BookingResponseDto next = filterNextBooking(itemBookings, filterDate);
-
-                    if (last != null) {
-                        itemResponseDtoBuilder.lastBooking(ItemBookingResponseDto.builder()
-                                .id(last.getId())
-                                .bookerId(last.getBooker().getId())
-                                .build());
-                    }
-
-                    if (next != null) {
-                        itemResponseDtoBuilder.nextBooking(ItemBookingResponseDto.builder()
-                                .id(next.getId())
-                                .bookerId(next.getBooker().getId())
-                                .build());
-                    }
-
-                    return itemResponseDtoBuilder.build();
-                })
+                .map(item -> MapperItem.toItemResponseDto(item).toBuilder()
+                        .comments(comments.getOrDefault(item.getId(), Collections.emptyList()))
+                        .build())
                 .collect(toList());
     }
 
     @Override
     public List<ItemResponseDto> search(Long userId, String text, Integer from, Integer size) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException(String.format("User %d not found", userId)));
+        userIdCache.require(userId);
 
         if (text.isBlank()) {
             return Collections.emptyList();
         }
 
-        Pageable pageable = PageRequest.of(from / size, size);
-
-        return itemRepository.searchAvailableItemsByNameAndDescription(text, pageable).stream()
+        return itemSearchBackend.search(text, from, size).stream()
                 .map(MapperItem::toItemResponseDto)
-                .collect(Collectors.toUnmodifiableList());
+                .collect(toUnmodifiableList());
     }
 
     @Override
     @Transactional
     public CommentResponseDto addComment(Long userId, CommentDto commentDto, Long itemId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException(String.format("User %d not found", userId)));
+        userIdCache.require(userId);
         final Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NoSuchElementException(String.format("Item with id %d not found", itemId)));
 
-        bookingRepository.findFirstByBookerIdAndItemIdAndEndBefore(userId, itemId, LocalDateTime.now())
-                .orElseThrow(() -> new IllegalStateException(String.format("User %d not booked %d", userId, itemId)));
+        boolean booked = bookingRepository.findFirstByBookerIdAndItemIdAndEndBefore(userId, itemId, LocalDateTime.now())
+                .isPresent() || archivedBookingRepository.existsByBookerIdAndItemId(userId, itemId);
+
+        if (!booked) {
+            throw new IllegalStateException(String.format("User %d not booked %d", userId, itemId));
+        }
 
         if (item.isOwnedBy(userId)) {
             throw new IllegalStateException(String.format("User %d owns item %d", userId, itemId));
@@ -245,7 +209,7 @@ public class ItemServiceImpl implements ItemService {
 
         Comment comment = Comment.builder()
                 .item(item)
-                .author(user)
+                .author(userRepository.getReferenceById(userId))
                 .text(commentDto.getText())
                 .created(LocalDateTime.now())
                 .build();
@@ -253,32 +217,74 @@ public class ItemServiceImpl implements ItemService {
         return MapperComment.toCommentResponseDto(commentRepository.save(comment));
     }
 
-    private BookingResponseDto filterLastBooking(List<BookingResponseDto> bookings, LocalDateTime time) {
-        if (bookings == null || bookings.isEmpty()) {
-            return null;
+    @Override
+    public ItemAvailabilityDto findAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        userIdCache.require(userId);
+
+        if (!itemRepository.existsById(itemId)) {
+            throw new NoSuchElementException(String.format("Item with id %d not found", itemId));
         }
 
-        return bookings
-                .stream()
-                .filter(booking -> {
-                    LocalDateTime start = booking.getStart();
+        if (!from.isBefore(to)) {
+            throw new IllegalStateException("Availability window start must be before its end");
+        }
 
-                    return  start.isBefore(time) || start.equals(time);
-                })
-                .findFirst()
-                .orElse(null);
-    }
+        // Archived bookings are all approved, so they still mark the item busy for a window in the past
+        List<BookingInterval> bookings = new ArrayList<>(bookingRepository.findIntervalsByItemIdBetween(
+                itemId,
+                RESERVING_STATUSES,
+                from,
+                to));
+
+        bookings.addAll(archivedBookingRepository.findIntervalsByItemIdBetween(itemId, from, to));
+        bookings.sort(Comparator.comparing(BookingInterval::getStart));
+
+        List<AvailabilityIntervalDto> busy = new ArrayList<>();
+
+        for (BookingInterval booking : bookings) {
+            LocalDateTime start = booking.getStart().isBefore(from) ? from : booking.getStart();
+            LocalDateTime end = booking.getEnd().isAfter(to) ? to : booking.getEnd();
+            AvailabilityIntervalDto last = busy.isEmpty() ? null : busy.get(busy.size() - 1);
 
-    private BookingResponseDto filterNextBooking(List<BookingResponseDto> bookings, LocalDateTime time) {
-        if (bookings == null || bookings.isEmpty()) {
-            return null;
+            if (last == null || start.isAfter(last.getEnd())) {
+                busy.add(new AvailabilityIntervalDto(start, end));
+            } else if (end.isAfter(last.getEnd())) {
+                last.setEnd(end);
+            }
         }
 
-        return bookings
-                .stream()
-                .filter(booking -> booking.getStart().isAfter(time))
-                .findFirst()
-                .orElse(null);
+        List<AvailabilityIntervalDto> free = new ArrayList<>();
+        LocalDateTime freeFrom = from;
+
+        for (AvailabilityIntervalDto interval : busy) {
+            if (interval.getStart().isAfter(freeFrom)) {
+                free.add(new AvailabilityIntervalDto(freeFrom, interval.getStart()));
+            }
+
+            freeFrom = interval.getEnd();
+        }
+
+        if (freeFrom.isBefore(to)) {
+            free.add(new AvailabilityIntervalDto(freeFrom, to));
+        }
+
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .busy(busy)
+                .free(free)
+                .build();
     }
 
+    private Item toItem(Long userId, ItemDto itemDto) {
+        Item item = MapperItem.toItem(itemDto);
+        item.setOwner(userRepository.getReferenceById(userId));
+
+        if (itemDto.getRequestId() != null) {
+            item.setRequest(itemRequestRepository.getReferenceById(itemDto.getRequestId()));
+        }
+
+        return item;
+    }
 }
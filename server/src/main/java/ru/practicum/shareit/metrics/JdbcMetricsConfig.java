@@ -0,0 +1,31 @@
+package ru.practicum.shareit.metrics;
+
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JdbcMetricsConfig {
+    static final String DATA_SOURCE = "dataSource";
+
+    // Only the DataSource handed to Hibernate is wrapped, so pools behind it are not counted twice
+    @Bean
+    public static BeanPostProcessor jdbcMetricsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return DATA_SOURCE.equals(beanName) && bean instanceof DataSource
+                        ? new JdbcMetricsDataSource((DataSource) bean)
+                        : bean;
+            }
+        };
+    }
+
+    @Bean
+    public JdbcMetricsFilter jdbcMetricsFilter(MeterRegistry meterRegistry) {
+        return new JdbcMetricsFilter(meterRegistry);
+    }
+}
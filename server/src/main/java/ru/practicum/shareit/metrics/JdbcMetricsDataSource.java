@@ -0,0 +1,123 @@
+package ru.practicum.shareit.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+public class JdbcMetricsDataSource extends DelegatingDataSource {
+    private static final ThreadLocal<JdbcUsage> CURRENT = new ThreadLocal<>();
+
+    public JdbcMetricsDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    public static JdbcUsage start() {
+        JdbcUsage usage = new JdbcUsage();
+
+        CURRENT.set(usage);
+
+        return usage;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, super.getConnection(username, password));
+    }
+
+    // Statements and result sets are proxied too so every execute and every fetched row is counted against the
+    // request running on the current thread; work outside a request is passed through untouched
+    private static <T> T wrap(Class<T> type, T target) {
+        return type.cast(Proxy.newProxyInstance(JdbcMetricsDataSource.class.getClassLoader(), new Class<?>[]{type},
+                new CountingHandler(target)));
+    }
+
+    private static Statement wrapStatement(Statement statement) {
+        if (statement instanceof CallableStatement) {
+            return wrap(CallableStatement.class, (CallableStatement) statement);
+        }
+
+        if (statement instanceof PreparedStatement) {
+            return wrap(PreparedStatement.class, (PreparedStatement) statement);
+        }
+
+        return wrap(Statement.class, statement);
+    }
+
+    private static final class CountingHandler implements InvocationHandler {
+        private final Object target;
+
+        private CountingHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("equals") && args != null && args.length == 1) {
+                return proxy == args[0];
+            }
+
+            JdbcUsage usage = CURRENT.get();
+
+            if (usage != null && target instanceof Statement && method.getName().startsWith("execute")) {
+                usage.statements++;
+            }
+
+            Object result;
+
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+
+            if (target instanceof Connection && result instanceof Statement) {
+                return wrapStatement((Statement) result);
+            }
+
+            if (target instanceof Statement && result instanceof ResultSet) {
+                return wrap(ResultSet.class, (ResultSet) result);
+            }
+
+            if (usage != null && target instanceof ResultSet && method.getName().equals("next")
+                    && Boolean.TRUE.equals(result)) {
+                usage.rows++;
+            }
+
+            return result;
+        }
+    }
+
+    public static final class JdbcUsage {
+        private long statements;
+
+        private long rows;
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.metrics;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+public class JdbcMetricsFilter extends OncePerRequestFilter {
+    static final String STATEMENTS = "shareit.jdbc.statements";
+
+    static final String ROWS = "shareit.jdbc.rows";
+
+    private final MeterRegistry meterRegistry;
+
+    public JdbcMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        JdbcMetricsDataSource.JdbcUsage usage = JdbcMetricsDataSource.start();
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            JdbcMetricsDataSource.stop();
+
+            // Same uri tag as http.server.requests, so the counts line up with the endpoint latencies
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN");
+
+            DistributionSummary.builder(STATEMENTS)
+                    .baseUnit("statements")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(usage.getStatements());
+            DistributionSummary.builder(ROWS)
+                    .baseUnit("rows")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(usage.getRows());
+        }
+    }
+}
@@ -36,8 +36,11 @@ public class ItemRequestController implements WithUserHeaderID {
     }
 
     @GetMapping
-    public List<ItemRequestResponseDto> findAllByRequesterId(@RequestHeader(HEADER_USER_ID) Long userId) {
-        return requestService.findAllByRequesterId(userId);
+    public List<ItemRequestResponseDto> findAllByRequesterId(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @RequestParam(value = "size", defaultValue = "10") Integer size) {
+        return requestService.findAllByRequesterId(userId, from, size);
     }
 
     @GetMapping("/{requestId}")
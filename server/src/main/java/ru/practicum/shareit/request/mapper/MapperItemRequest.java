@@ -29,6 +29,10 @@ public class MapperItemRequest {
                     .collect(Collectors.toList());
         }
 
+        return toRequestResponseDto(request, items);
+    }
+
+    public static ItemRequestResponseDto toRequestResponseDto(ItemRequest request, List<ItemResponseDto> items) {
         return ItemRequestResponseDto.builder()
                 .id(request.getId())
                 .description(request.getDescription())
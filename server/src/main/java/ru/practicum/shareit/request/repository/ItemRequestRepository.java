@@ -1,13 +1,19 @@
 package ru.practicum.shareit.request.repository;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.request.ItemRequest;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    List<ItemRequest> findAllByRequesterId(Long userId);
+    @Override
+    @EntityGraph(attributePaths = "items")
+    Optional<ItemRequest> findById(Long requestId);
+
+    List<ItemRequest> findAllByRequesterId(Long userId, Pageable pageable);
 
     List<ItemRequest> findAllByRequester_IdNot(Long userId, Pageable pageable);
 }
@@ -8,7 +8,7 @@ import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 public interface ItemRequestService {
     ItemRequestResponseDto add(Long userId, ItemRequestDto requestDto);
 
-    List<ItemRequestResponseDto> findAllByRequesterId(Long userId);
+    List<ItemRequestResponseDto> findAllByRequesterId(Long userId, Integer from, Integer size);
 
     ItemRequestResponseDto findById(Long userId, Long requestId);
 
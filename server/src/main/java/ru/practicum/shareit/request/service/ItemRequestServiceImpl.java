@@ -1,21 +1,27 @@
 package ru.practicum.shareit.request.service;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.mapper.MapperItem;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.mapper.MapperItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
-import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.cache.UserIdCache;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 @Slf4j
@@ -24,42 +30,43 @@ import ru.practicum.shareit.user.repository.UserRepository;
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final UserRepository userRepository;
     private final ItemRequestRepository requestRepository;
+    private final ItemRepository itemRepository;
+    private final UserIdCache userIdCache;
 
     @Autowired
-    public ItemRequestServiceImpl(UserRepository userRepository, ItemRequestRepository requestRepository) {
+    public ItemRequestServiceImpl(
+            UserRepository userRepository,
+            ItemRequestRepository requestRepository,
+            ItemRepository itemRepository,
+            UserIdCache userIdCache) {
         this.userRepository = userRepository;
         this.requestRepository = requestRepository;
+        this.itemRepository = itemRepository;
+        this.userIdCache = userIdCache;
     }
 
     @Override
     @Transactional
     public ItemRequestResponseDto add(Long userId, ItemRequestDto itemRequestDto) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException(String.format("User %d not found", userId)));
+        userIdCache.require(userId);
 
         ItemRequest request = MapperItemRequest.toItemRequest(itemRequestDto);
 
-        request.setRequester(user);
+        request.setRequester(userRepository.getReferenceById(userId));
 
         return MapperItemRequest.toRequestResponseDto(requestRepository.save(request));
     }
 
     @Override
-    public List<ItemRequestResponseDto> findAllByRequesterId(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException(String.format("User %d not found", userId)));
+    public List<ItemRequestResponseDto> findAllByRequesterId(Long userId, Integer from, Integer size) {
+        userIdCache.require(userId);
 
-        List<ItemRequest> itemRequestList = requestRepository.findAllByRequesterId(userId);
-
-        return itemRequestList.stream()
-                .map(MapperItemRequest::toRequestResponseDto)
-                .collect(Collectors.toList());
+        return toRequestResponseDtoList(requestRepository.findAllByRequesterId(userId, pageByCreated(from, size)));
     }
 
     @Override
     public ItemRequestResponseDto findById(Long userId, Long requestId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException(String.format("User %d not found", userId)));
+        userIdCache.require(userId);
 
         ItemRequest request = requestRepository.findById(requestId)
                 .orElseThrow(() -> new NoSuchElementException(String.format("Request %d not found", requestId)));
@@ -69,18 +76,33 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestResponseDto> findAllById(Long userId, Integer from, Integer size) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException(String.format("User %d not found", userId)));
-
-        List<ItemRequest> itemRequests = requestRepository.findAllByRequester_IdNot(
-                userId,
-                PageRequest.of(
-                        from / size,
-                        size,
-                        Sort.by(Sort.Direction.ASC, "created")));
-
-        return itemRequests.stream()
-                .map(MapperItemRequest::toRequestResponseDto)
+        userIdCache.require(userId);
+
+        return toRequestResponseDtoList(requestRepository.findAllByRequester_IdNot(userId, pageByCreated(from, size)));
+    }
+
+    private List<ItemRequestResponseDto> toRequestResponseDtoList(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> requestIds = requests.stream()
+                .map(ItemRequest::getId)
                 .collect(Collectors.toList());
+
+        Map<Long, List<ItemResponseDto>> items = itemRepository.findAllByRequestIdInOrderById(requestIds)
+                .stream()
+                .map(MapperItem::toItemResponseDto)
+                .collect(Collectors.groupingBy(ItemResponseDto::getRequestId, Collectors.toList()));
+
+        return requests.stream()
+                .map(request -> MapperItemRequest.toRequestResponseDto(
+                        request,
+                        items.getOrDefault(request.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
+
+    private static Pageable pageByCreated(Integer from, Integer size) {
+        return OffsetPageRequest.of(from, size, Sort.by(Sort.Direction.ASC, "created", "id"));
     }
 }
@@ -0,0 +1,154 @@
+package ru.practicum.shareit.user.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+@Component
+public class UserIdCache {
+    private static final String METRIC = "shareit.user.id.cache";
+
+    private final UserRepository userRepository;
+
+    private final Cache<Long, Boolean> known;
+
+    private final Cache<Long, Boolean> missing;
+
+    private final Map<Long, Object> loading = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+
+    private final Counter negativeHits;
+
+    private final Counter misses;
+
+    @Autowired
+    public UserIdCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${shareit.user-id-cache.ttl:10m}") Duration ttl,
+            @Value("${shareit.user-id-cache.max-size:100000}") int maxSize,
+            @Value("${shareit.user-id-cache.negative-ttl:5s}") Duration negativeTtl,
+            @Value("${shareit.user-id-cache.negative-max-size:10000}") int negativeMaxSize) {
+        this.userRepository = userRepository;
+        this.known = expiringIds(ttl, maxSize);
+        this.missing = expiringIds(negativeTtl, negativeMaxSize);
+        this.hits = meterRegistry.counter(METRIC + ".requests", "result", "hit");
+        this.negativeHits = meterRegistry.counter(METRIC + ".requests", "result", "negative-hit");
+        this.misses = meterRegistry.counter(METRIC + ".requests", "result", "miss");
+
+        Gauge.builder(METRIC + ".size", known, Cache::estimatedSize)
+                .tag("type", "known")
+                .strongReference(true)
+                .register(meterRegistry);
+        Gauge.builder(METRIC + ".size", missing, Cache::estimatedSize)
+                .tag("type", "missing")
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    public void require(Long userId) {
+        if (!exists(userId)) {
+            throw new NoSuchElementException(String.format("User %d not found", userId));
+        }
+    }
+
+    public boolean exists(Long userId) {
+        if (known.getIfPresent(userId) != null) {
+            hits.increment();
+
+            return true;
+        }
+
+        if (missing.getIfPresent(userId) != null) {
+            negativeHits.increment();
+
+            return false;
+        }
+
+        misses.increment();
+
+        // A delete that starts or commits while the lookup runs drops the token, so a row read just before
+        // the delete became visible is never cached as existing. The check and the add share the token's
+        // map entry lock, so a concurrent remove either drops the token first or clears the id afterwards
+        Object token = new Object();
+        loading.put(userId, token);
+
+        try {
+            if (userRepository.existsById(userId)) {
+                loading.computeIfPresent(userId, (id, current) -> {
+                    if (current != token) {
+                        return current;
+                    }
+
+                    known.put(id, Boolean.TRUE);
+
+                    return null;
+                });
+
+                return true;
+            }
+        } finally {
+            loading.remove(userId, token);
+        }
+
+        missing.put(userId, Boolean.TRUE);
+
+        return false;
+    }
+
+    public void add(Long userId) {
+        afterCommit(() -> {
+            missing.invalidate(userId);
+            known.put(userId, Boolean.TRUE);
+        });
+    }
+
+    public void remove(Long userId) {
+        forget(userId);
+        afterCommit(() -> forget(userId));
+    }
+
+    private void forget(Long userId) {
+        loading.remove(userId);
+        known.invalidate(userId);
+    }
+
+    // Size eviction drops the least valuable ids one at a time instead of sending a whole cache back to the database.
+    // Maintenance runs on the calling thread so the size gauges never lag behind an eviction.
+    private static Cache<Long, Boolean> expiringIds(Duration ttl, int maxSize) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .executor(Runnable::run)
+                .build();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.cache.UserIdCache;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.MapperUser;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -17,10 +18,12 @@ import ru.practicum.shareit.user.repository.UserRepository;
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final UserIdCache userIdCache;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, UserIdCache userIdCache) {
         this.userRepository = userRepository;
+        this.userIdCache = userIdCache;
     }
 
     @Override
@@ -41,9 +44,11 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public UserDto add(UserDto userDto) {
-        User user = MapperUser.toUser(userDto);
+        User savedUser = userRepository.save(MapperUser.toUser(userDto));
 
-        return MapperUser.toUserDto(userRepository.save(user));
+        userIdCache.add(savedUser.getId());
+
+        return MapperUser.toUserDto(savedUser);
     }
 
     @Override
@@ -71,5 +76,6 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public void deleteById(Long userId) {
         userRepository.deleteById(userId);
+        userIdCache.remove(userId);
     }
 }
@@ -0,0 +1,17 @@
+-- Archive tier for long-ended bookings; BookingArchiver moves rows here from bookings
+CREATE TABLE bookings_archive (
+    id         BIGINT PRIMARY KEY,
+    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date   TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    item_id    BIGINT                      NOT NULL,
+    booker_id  BIGINT                      NOT NULL,
+    owner_id   BIGINT                      NOT NULL,
+    status     VARCHAR(64),
+    CONSTRAINT FK_BOOKINGS_ARCHIVE_ITEM_ID FOREIGN KEY (item_id) REFERENCES items (id),
+    CONSTRAINT FK_BOOKINGS_ARCHIVE_BOOKER_ID FOREIGN KEY (booker_id) REFERENCES users (id),
+    CONSTRAINT FK_BOOKINGS_ARCHIVE_OWNER_ID FOREIGN KEY (owner_id) REFERENCES users (id)
+);
+
+CREATE INDEX IX_BOOKINGS_ARCHIVE_BOOKER_ID_START_DATE ON bookings_archive (booker_id, start_date, id);
+CREATE INDEX IX_BOOKINGS_ARCHIVE_OWNER_ID_START_DATE ON bookings_archive (owner_id, start_date, id);
+CREATE INDEX IX_BOOKINGS_ARCHIVE_BOOKER_ID_ITEM_ID ON bookings_archive (booker_id, item_id);
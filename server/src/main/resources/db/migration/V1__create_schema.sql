@@ -0,0 +1,61 @@
+-- Hibernate allocates ids from these sequences in blocks of 50 (allocationSize on the entities)
+
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE comments_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id    BIGINT DEFAULT nextval('users_seq') PRIMARY KEY,
+    name  VARCHAR(255) NOT NULL,
+    email VARCHAR(512) NOT NULL,
+    CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
+);
+
+CREATE TABLE requests (
+    id           BIGINT DEFAULT nextval('requests_seq') PRIMARY KEY,
+    description  VARCHAR(512) NOT NULL,
+    requester_id BIGINT,
+    created      TIMESTAMP WITHOUT TIME ZONE,
+    FOREIGN KEY (requester_id) REFERENCES users (id)
+);
+
+CREATE TABLE items (
+    id                     BIGINT DEFAULT nextval('items_seq') PRIMARY KEY,
+    name                   VARCHAR(255) NOT NULL,
+    description            VARCHAR(512) NOT NULL,
+    available              BOOLEAN,
+    owner_id               BIGINT       NOT NULL,
+    request_id             BIGINT,
+    name_normalized        VARCHAR(255) NOT NULL,
+    description_normalized VARCHAR(512) NOT NULL,
+    FOREIGN KEY (request_id) REFERENCES requests (id),
+    CONSTRAINT FK_ITEMS_OWNER_ID FOREIGN KEY (owner_id) REFERENCES users (id)
+);
+
+CREATE INDEX IX_ITEMS_OWNER_ID ON items (owner_id, id);
+
+CREATE TABLE bookings (
+    id         BIGINT DEFAULT nextval('bookings_seq') PRIMARY KEY,
+    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date   TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    item_id    BIGINT                      NOT NULL,
+    booker_id  BIGINT                      NOT NULL,
+    status     VARCHAR(64),
+    CONSTRAINT FK_BOOKINGS_ITEM_ID FOREIGN KEY (item_id) REFERENCES items (id),
+    CONSTRAINT FK_BOOKINGS_BOOKER_ID FOREIGN KEY (booker_id) REFERENCES users (id)
+);
+
+CREATE INDEX IX_BOOKINGS_ITEM_ID_STATUS_START_DATE ON bookings (item_id, status, start_date);
+CREATE INDEX IX_BOOKINGS_ITEM_ID_END_DATE ON bookings (item_id, end_date);
+
+CREATE TABLE comments (
+    id        BIGINT DEFAULT nextval('comments_seq') PRIMARY KEY,
+    text      VARCHAR(255) NOT NULL,
+    item_id   BIGINT        NOT NULL,
+    author_id BIGINT        NOT NULL,
+    created   TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT FK_COMMENTS_ITEM_ID FOREIGN KEY (item_id) REFERENCES items (id),
+    CONSTRAINT FK_COMMENTS_AUTHOR_ID FOREIGN KEY (author_id) REFERENCES users (id)
+);
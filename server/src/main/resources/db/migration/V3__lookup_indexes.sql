@@ -0,0 +1,11 @@
+-- Booker listings filter by booker and page by start date, optionally by status
+CREATE INDEX IX_BOOKINGS_BOOKER_ID_START_DATE ON bookings (booker_id, start_date, id);
+CREATE INDEX IX_BOOKINGS_BOOKER_ID_STATUS_START_DATE ON bookings (booker_id, status, start_date);
+
+-- Answers to item requests and comments are loaded per parent, in id order
+CREATE INDEX IX_ITEMS_REQUEST_ID ON items (request_id, id);
+CREATE INDEX IX_COMMENTS_ITEM_ID ON comments (item_id, id);
+
+-- Every request has a requester; the entity maps it as a required association
+ALTER TABLE requests ALTER COLUMN requester_id SET NOT NULL;
+CREATE INDEX IX_REQUESTS_REQUESTER_ID_CREATED ON requests (requester_id, created);
@@ -0,0 +1,10 @@
+-- Owner listings filter bookings by the item's owner; items never change owner, so the copy stays valid
+ALTER TABLE bookings ADD COLUMN owner_id BIGINT;
+
+UPDATE bookings SET owner_id = (SELECT i.owner_id FROM items AS i WHERE i.id = bookings.item_id);
+
+ALTER TABLE bookings ALTER COLUMN owner_id SET NOT NULL;
+ALTER TABLE bookings ADD CONSTRAINT FK_BOOKINGS_OWNER_ID FOREIGN KEY (owner_id) REFERENCES users (id);
+
+CREATE INDEX IX_BOOKINGS_OWNER_ID_START_DATE ON bookings (owner_id, start_date, id);
+CREATE INDEX IX_BOOKINGS_OWNER_ID_STATUS_START_DATE ON bookings (owner_id, status, start_date);
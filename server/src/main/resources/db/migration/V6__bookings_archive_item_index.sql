@@ -0,0 +1,2 @@
+-- Item availability reads archived bookings by item and start date alongside the hot table
+CREATE INDEX IX_BOOKINGS_ARCHIVE_ITEM_ID_START_DATE ON bookings_archive (item_id, start_date);
@@ -0,0 +1,4 @@
+-- Item availability seeks bookings by item and start date, bounded by the requested window,
+-- so the end date index it used before is no longer read
+DROP INDEX IX_BOOKINGS_ITEM_ID_END_DATE;
+CREATE INDEX IX_BOOKINGS_ITEM_ID_START_DATE ON bookings (item_id, start_date);
@@ -0,0 +1,11 @@
+-- ITEM SEARCH
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS IX_ITEMS_NAME_NORMALIZED_TRGM
+    ON items USING GIN (name_normalized gin_trgm_ops)
+    WHERE available = true;
+
+CREATE INDEX IF NOT EXISTS IX_ITEMS_DESCRIPTION_NORMALIZED_TRGM
+    ON items USING GIN (description_normalized gin_trgm_ops)
+    WHERE available = true;
@@ -0,0 +1,31 @@
+-- Archive tier for long-ended bookings; BookingArchiver moves rows here from bookings.
+-- Range partitions by end_date year let old years be detached or moved to cheaper tablespaces.
+CREATE TABLE bookings_archive (
+    id         BIGINT                      NOT NULL,
+    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date   TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    item_id    BIGINT                      NOT NULL,
+    booker_id  BIGINT                      NOT NULL,
+    owner_id   BIGINT                      NOT NULL,
+    status     VARCHAR(64),
+    PRIMARY KEY (id, end_date),
+    CONSTRAINT FK_BOOKINGS_ARCHIVE_ITEM_ID FOREIGN KEY (item_id) REFERENCES items (id),
+    CONSTRAINT FK_BOOKINGS_ARCHIVE_BOOKER_ID FOREIGN KEY (booker_id) REFERENCES users (id),
+    CONSTRAINT FK_BOOKINGS_ARCHIVE_OWNER_ID FOREIGN KEY (owner_id) REFERENCES users (id)
+) PARTITION BY RANGE (end_date);
+
+CREATE TABLE bookings_archive_default PARTITION OF bookings_archive DEFAULT;
+
+DO $$
+BEGIN
+    FOR y IN 2020..2035 LOOP
+        EXECUTE format(
+                'CREATE TABLE bookings_archive_%s PARTITION OF bookings_archive FOR VALUES FROM (%L) TO (%L)',
+                y, make_date(y, 1, 1), make_date(y + 1, 1, 1));
+    END LOOP;
+END
+$$;
+
+CREATE INDEX IX_BOOKINGS_ARCHIVE_BOOKER_ID_START_DATE ON bookings_archive (booker_id, start_date, id);
+CREATE INDEX IX_BOOKINGS_ARCHIVE_OWNER_ID_START_DATE ON bookings_archive (owner_id, start_date, id);
+CREATE INDEX IX_BOOKINGS_ARCHIVE_BOOKER_ID_ITEM_ID ON bookings_archive (booker_id, item_id);
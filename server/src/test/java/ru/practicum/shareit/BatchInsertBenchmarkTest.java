@@ -0,0 +1,133 @@
+package ru.practicum.shareit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BatchInsertBenchmarkTest {
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 5_000);
+
+    private static final int WARMUP_ROWS = 1_000;
+
+    private static final int BATCH_SIZE = 500;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private final List<Long> itemIds = new ArrayList<>();
+
+    private int bookings;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void compareSingleAndBatchInserts() {
+        Long owner = userService.add(UserDto.builder().name("owner").email("owner@email.com").build()).getId();
+        Long booker = userService.add(UserDto.builder().name("booker").email("booker@email.com").build()).getId();
+
+        measure("Warmup items", WARMUP_ROWS, false, i -> itemService.add(owner, item(i)).getId());
+        measure("Warmup items", WARMUP_ROWS, true, i -> addItems(owner, i));
+        measure("Warmup bookings", WARMUP_ROWS, false, i -> bookingService.add(booker, booking()).getId());
+        measure("Warmup bookings", WARMUP_ROWS, true, i -> addBookings(booker, i));
+
+        double singleItems = measure("Items", ROWS, false, i -> itemService.add(owner, item(i)).getId());
+        double batchItems = measure("Items", ROWS, true, i -> addItems(owner, i));
+        double singleBookings = measure("Bookings", ROWS, false, i -> bookingService.add(booker, booking()).getId());
+        double batchBookings = measure("Bookings", ROWS, true, i -> addBookings(booker, i));
+
+        log.info("{} rows: items {} -> {} rows/s (x{}), bookings {} -> {} rows/s (x{})",
+                ROWS,
+                String.format("%.0f", singleItems),
+                String.format("%.0f", batchItems),
+                String.format("%.1f", batchItems / singleItems),
+                String.format("%.0f", singleBookings),
+                String.format("%.0f", batchBookings),
+                String.format("%.1f", batchBookings / singleBookings));
+    }
+
+    private double measure(String name, int rows, boolean batched, IntFunction<Object> insert) {
+        int step = batched ? BATCH_SIZE : 1;
+        long started = System.nanoTime();
+
+        for (int i = 0; i < rows; i += step) {
+            insert.apply(i);
+        }
+
+        double rowsPerSecond = rows / ((System.nanoTime() - started) / 1_000_000_000.0);
+
+        log.info("{} {}: {} rows/s", name, batched ? "batch" : "single", String.format("%.0f", rowsPerSecond));
+
+        return rowsPerSecond;
+    }
+
+    private Object addItems(Long owner, int from) {
+        List<ItemDto> items = IntStream.range(from, from + BATCH_SIZE)
+                .mapToObj(this::item)
+                .collect(Collectors.toList());
+
+        List<ItemResponseDto> saved = itemService.addAll(owner, items);
+
+        assertEquals(BATCH_SIZE, saved.size());
+        saved.forEach(item -> itemIds.add(item.getId()));
+
+        return saved;
+    }
+
+    private Object addBookings(Long booker, int from) {
+        List<BookingDto> batch = IntStream.range(from, from + BATCH_SIZE)
+                .mapToObj(i -> booking())
+                .collect(Collectors.toList());
+
+        assertEquals(BATCH_SIZE, bookingService.addAll(booker, batch).size());
+
+        return batch;
+    }
+
+    private ItemDto item(int i) {
+        return ItemDto.builder()
+                .name("item " + i)
+                .description("description " + i)
+                .available(true)
+                .build();
+    }
+
+    private BookingDto booking() {
+        int booking = bookings++;
+        LocalDateTime start = now.plusDays(1 + 2L * (booking / WARMUP_ROWS));
+
+        return BookingDto.builder()
+                .itemId(itemIds.get(booking % WARMUP_ROWS))
+                .start(start)
+                .end(start.plusDays(1))
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+// Runs the plan and catalog checks on PostgreSQL in a Testcontainers container: mvn test -Ppostgres (needs Docker).
+// -Dshareit.test.postgres.url points it at an existing, empty database instead
+@Tag("postgres")
+@Import(QueryPlanTest.StatementRecorderConfig.class)
+@TestPropertySource(properties = {
+        "spring.datasource.driver-class-name=",
+        "spring.datasource.url=${shareit.test.postgres.url:jdbc:tc:postgresql:16-alpine:///shareit}",
+        "spring.datasource.username=${shareit.test.postgres.username:test}",
+        "spring.datasource.password=${shareit.test.postgres.password:test}"
+})
+class PostgresQueryPlanTest extends QueryPlanTest {
+}
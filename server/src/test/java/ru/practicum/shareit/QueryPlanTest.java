@@ -0,0 +1,365 @@
+package ru.practicum.shareit;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.archive.ArchivedBookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// H2 indexes foreign keys on its own, so a plan check here alone would not notice a missing migration index.
+// The catalog check pins the migration indexes, and PostgresQueryPlanTest runs the plan check on PostgreSQL.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class QueryPlanTest {
+    private static final int USERS = 20;
+
+    private static final int ITEMS_PER_OWNER = 10;
+
+    private static final int BOOKINGS_PER_BOOKER = 50;
+
+    private static final Pattern H2_FULL_SCAN = Pattern.compile("/\\* PUBLIC\\.\\w+(\\.tableScan)? \\*/");
+
+    private static final Pattern POSTGRES_FULL_SCAN = Pattern.compile("Seq Scan on \\w+");
+
+    private static final Pattern PARAMETER = Pattern.compile("\\?");
+
+    // Table -> index columns, in order, that the hot queries rely on
+    private static final Map<String, List<List<String>>> MIGRATION_INDEXES = Map.of(
+            "bookings", List.of(
+                    List.of("item_id", "status", "start_date"),
+                    List.of("item_id", "start_date"),
+                    List.of("booker_id", "start_date", "id"),
+                    List.of("booker_id", "status", "start_date"),
+                    List.of("owner_id", "start_date", "id"),
+                    List.of("owner_id", "status", "start_date")),
+            "bookings_archive", List.of(
+                    List.of("booker_id", "start_date", "id"),
+                    List.of("owner_id", "start_date", "id"),
+                    List.of("booker_id", "item_id"),
+                    List.of("item_id", "start_date")),
+            "items", List.of(
+                    List.of("owner_id", "id"),
+                    List.of("request_id", "id")),
+            "comments", List.of(
+                    List.of("item_id", "id")),
+            "requests", List.of(
+                    List.of("requester_id", "created")));
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private final Pageable page = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start"));
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    private final List<Long> itemIds = new ArrayList<>();
+
+    private final List<Long> requestIds = new ArrayList<>();
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemRequestService requestService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository requestRepository;
+
+    @BeforeAll
+    void setUp() throws SQLException {
+        for (int i = 0; i < USERS; i++) {
+            Long userId = userService.add(UserDto.builder()
+                    .name("user " + i)
+                    .email("plan" + i + "@email.com")
+                    .build()).getId();
+
+            userIds.add(userId);
+            requestIds.add(requestService.add(userId, ItemRequestDto.builder().description("drill " + i).build())
+                    .getId());
+        }
+
+        for (int i = 0; i < USERS; i++) {
+            Long requestId = requestIds.get((i + 1) % USERS);
+            List<ItemDto> items = IntStream.range(0, ITEMS_PER_OWNER)
+                    .mapToObj(j -> ItemDto.builder()
+                            .name("item " + j)
+                            .description("description " + j)
+                            .available(true)
+                            .requestId(requestId)
+                            .build())
+                    .collect(Collectors.toList());
+
+            itemService.addAll(userIds.get(i), items).forEach(item -> itemIds.add(item.getId()));
+        }
+
+        for (int i = 0; i < USERS; i++) {
+            int booker = i;
+            List<BookingDto> bookings = IntStream.range(0, BOOKINGS_PER_BOOKER)
+                    .mapToObj(j -> {
+                        LocalDateTime start = now.plusDays(1 + 2L * (booker * BOOKINGS_PER_BOOKER + j));
+
+                        return BookingDto.builder()
+                                .itemId(itemIds.get((booker + 1) % USERS * ITEMS_PER_OWNER + j % ITEMS_PER_OWNER))
+                                .start(start)
+                                .end(start.plusDays(1))
+                                .build();
+                    })
+                    .collect(Collectors.toList());
+
+            bookingService.addAll(userIds.get(booker), bookings);
+        }
+
+        commentRepository.saveAll(itemIds.stream()
+                .map(itemId -> Comment.builder()
+                        .text("comment")
+                        .item(itemRepository.getReferenceById(itemId))
+                        .author(userRepository.getReferenceById(userIds.get(0)))
+                        .created(now)
+                        .build())
+                .collect(Collectors.toList()));
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @Test
+    void hotQueriesShouldUseIndexes() throws SQLException {
+        Long user = userIds.get(1);
+        Long itemId = itemIds.get(0);
+        Long cursorId = Long.MAX_VALUE;
+        LocalDateTime cursorStart = now.plusYears(10);
+
+        synchronized (STATEMENTS) {
+            STATEMENTS.clear();
+        }
+
+        bookingRepository.findAllByBookerId(user, page);
+        bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfter(user, now, now, page);
+        bookingRepository.findAllByBookerIdAndEndBefore(user, now, page);
+        bookingRepository.findAllByBookerIdAndStartAfter(user, now, page);
+        bookingRepository.findAllByBookerIdAndStatus(user, BookingStatus.WAITING, page);
+        bookingRepository.findAllByBookerIdAfter(user, cursorStart, cursorId, page);
+        bookingRepository.findCurrentByBookerIdAfter(user, now, cursorStart, cursorId, page);
+        bookingRepository.findPastByBookerIdAfter(user, now, cursorStart, cursorId, page);
+        bookingRepository.findFutureByBookerIdAfter(user, now, cursorStart, cursorId, page);
+        bookingRepository.findAllByBookerIdAndStatusAfter(user, BookingStatus.WAITING, cursorStart, cursorId, page);
+        bookingRepository.findAllByOwnerId(user, page);
+        bookingRepository.findAllByOwnerIdAndStatus(user, BookingStatus.WAITING, page);
+        bookingRepository.findAllByOwnerIdAfter(user, cursorStart, cursorId, page);
+        bookingRepository.findFirstByBookerIdAndItemIdAndEndBefore(user, itemId, now);
+        bookingRepository.findIntervalsByItemIdBetween(itemId, List.of(BookingStatus.WAITING), now, now.plusDays(1));
+        archivedBookingRepository.findAllByBookerId(user, page);
+        archivedBookingRepository.findAllByBookerIdAfter(user, cursorStart, cursorId, page);
+        archivedBookingRepository.findAllByOwnerId(user, page);
+        archivedBookingRepository.findAllByOwnerIdAfter(user, cursorStart, cursorId, page);
+        archivedBookingRepository.existsByBookerIdAndItemId(user, itemId);
+        archivedBookingRepository.findIntervalsByItemIdBetween(itemId, now.minusDays(1), now);
+        itemRepository.findAllByOwnerId(user, PageRequest.of(0, 10));
+        itemRepository.findAllByRequestIdInOrderById(requestIds.subList(0, 3));
+        itemRepository.findDetailsById(itemId, user, now);
+        itemRepository.findDetailsByOwnerId(user, now, 10, 0);
+        commentRepository.findResponsesByItemId(itemId);
+        commentRepository.findResponsesByItemIdIn(itemIds.subList(0, 3));
+        requestRepository.findAllByRequesterId(user, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "created")));
+
+        Set<String> queries;
+
+        synchronized (STATEMENTS) {
+            queries = STATEMENTS.stream()
+                    .filter(sql -> sql.trim().toLowerCase().startsWith("select"))
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+        }
+
+        assertEquals(28, queries.size());
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean postgres = isPostgres(connection);
+
+            for (String sql : queries) {
+                String plan = postgres ? explainPostgres(connection, sql) : explain(connection, sql);
+
+                assertFalse((postgres ? POSTGRES_FULL_SCAN : H2_FULL_SCAN).matcher(plan).find(),
+                        () -> "Full scan in plan:\n" + plan);
+            }
+        }
+    }
+
+    @Test
+    void migrationIndexesShouldExist() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+
+            for (Map.Entry<String, List<List<String>>> table : MIGRATION_INDEXES.entrySet()) {
+                Set<List<String>> indexes = indexColumns(metaData, table.getKey());
+
+                for (List<String> columns : table.getValue()) {
+                    assertTrue(indexes.contains(columns),
+                            () -> String.format("No index on %s %s, found %s", table.getKey(), columns, indexes));
+                }
+            }
+        }
+    }
+
+    private String explain(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+
+            return resultSet.getString(1);
+        }
+    }
+
+    // The tables are small, so sequential scans are switched off: a plan that still has one has no usable index.
+    // A generic plan does not depend on the NULLs bound to the prepared statement
+    private String explainPostgres(Connection connection, String sql) throws SQLException {
+        StringBuilder numbered = new StringBuilder();
+        Matcher matcher = PARAMETER.matcher(sql);
+        int parameter = 0;
+
+        while (matcher.find()) {
+            matcher.appendReplacement(numbered, "\\$" + ++parameter);
+        }
+        matcher.appendTail(numbered);
+
+        String arguments = parameter == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameter, "NULL")) + ")";
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+            statement.execute("SET plan_cache_mode = force_generic_plan");
+            statement.execute("PREPARE plan_check AS " + numbered);
+
+            try (ResultSet resultSet = statement.executeQuery("EXPLAIN EXECUTE plan_check" + arguments)) {
+                StringBuilder plan = new StringBuilder();
+
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+
+                return plan.toString();
+            } finally {
+                statement.execute("DEALLOCATE plan_check");
+                statement.execute("RESET plan_cache_mode");
+                statement.execute("RESET enable_seqscan");
+            }
+        }
+    }
+
+    private static boolean isPostgres(Connection connection) throws SQLException {
+        return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+    }
+
+    private static Set<List<String>> indexColumns(DatabaseMetaData metaData, String table) throws SQLException {
+        String name = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Map<String, Map<Short, String>> indexes = new TreeMap<>();
+
+        try (ResultSet resultSet = metaData.getIndexInfo(null, null, name, false, false)) {
+            while (resultSet.next()) {
+                String index = resultSet.getString("INDEX_NAME");
+                String column = resultSet.getString("COLUMN_NAME");
+
+                if (index != null && column != null) {
+                    indexes.computeIfAbsent(index, key -> new TreeMap<>())
+                            .put(resultSet.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+
+        return indexes.values().stream()
+                .map(columns -> List.copyOf(columns.values()))
+                .collect(Collectors.toSet());
+    }
+
+    @TestConfiguration
+    static class StatementRecorderConfig {
+        @Bean
+        HibernatePropertiesCustomizer statementRecorder() {
+            StatementInspector inspector = sql -> {
+                synchronized (STATEMENTS) {
+                    STATEMENTS.add(sql);
+                }
+
+                return sql;
+            };
+
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+}
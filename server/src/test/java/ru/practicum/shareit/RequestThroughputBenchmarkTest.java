@@ -0,0 +1,108 @@
+package ru.practicum.shareit;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.headers.WithUserHeaderID;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.threads.RequestThreadsConfig;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class RequestThroughputBenchmarkTest implements WithUserHeaderID {
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 5_000);
+
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("benchmark.requests", 5);
+
+    private static final int WARMUP_CLIENTS = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${" + RequestThreadsConfig.PROPERTY + "}")
+    private String threadsMode;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    void measureThroughputWithConcurrentClients() {
+        Long owner = userService.add(UserDto.builder().name("owner").email("owner@email.com").build()).getId();
+        Long itemId = itemService.add(owner, ItemDto.builder()
+                .name("drill")
+                .description("description")
+                .available(true)
+                .build()).getId();
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/items/" + itemId))
+                .header(HEADER_USER_ID, owner.toString())
+                .timeout(Duration.ofMinutes(2))
+                .build();
+
+        run(client, request, WARMUP_CLIENTS);
+
+        long started = System.nanoTime();
+        long completed = run(client, request, CLIENTS);
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        assertEquals((long) CLIENTS * REQUESTS_PER_CLIENT, completed);
+        log.info("{} threads, {} concurrent clients x {} requests: {} requests/s",
+                threadsMode,
+                CLIENTS,
+                REQUESTS_PER_CLIENT,
+                String.format("%.0f", completed / seconds));
+    }
+
+    private long run(HttpClient client, HttpRequest request, int clients) {
+        AtomicLong completed = new AtomicLong();
+        List<CompletableFuture<?>> sessions = new ArrayList<>(clients);
+
+        for (int i = 0; i < clients; i++) {
+            CompletableFuture<?> session = CompletableFuture.completedFuture(null);
+
+            for (int j = 0; j < REQUESTS_PER_CLIENT; j++) {
+                session = session
+                        .thenCompose(ignored -> client.sendAsync(request, HttpResponse.BodyHandlers.discarding()))
+                        .thenAccept(response -> {
+                            if (response.statusCode() == 200) {
+                                completed.incrementAndGet();
+                            }
+                        });
+            }
+
+            sessions.add(session);
+        }
+
+        CompletableFuture.allOf(sessions.toArray(CompletableFuture[]::new)).join();
+
+        return completed.get();
+    }
+}
@@ -0,0 +1,158 @@
+package ru.practicum.shareit;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.headers.WithUserHeaderID;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class StatementCountTest implements WithUserHeaderID {
+    private static final int ITEMS = 5;
+
+    private static final int BATCH_ROWS = 120;
+
+    private final Map<String, Long> ids = new HashMap<>();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemRequestService requestService;
+
+    @BeforeAll
+    void setUp() {
+        Long owner = userService.add(UserDto.builder().name("owner").email("owner@email.com").build()).getId();
+        Long booker = userService.add(UserDto.builder().name("booker").email("booker@email.com").build()).getId();
+        Long requestId = requestService.add(booker, ItemRequestDto.builder().description("drill").build()).getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < ITEMS; i++) {
+            Long itemId = itemService.add(owner, ItemDto.builder()
+                    .name("drill " + i)
+                    .description("description " + i)
+                    .available(true)
+                    .requestId(requestId)
+                    .build()).getId();
+
+            Long bookingId = bookingService.add(booker, booking(itemId, now.minusDays(2 + i), now.minusDays(1 + i)))
+                    .getId();
+            bookingService.add(booker, booking(itemId, now.plusDays(1 + i), now.plusDays(2 + i)));
+            itemService.addComment(booker, CommentDto.builder().text("comment " + i).build(), itemId);
+
+            ids.put("item", itemId);
+            ids.put("booking", bookingId);
+        }
+
+        ids.put("owner", owner);
+        ids.put("booker", booker);
+        ids.put("request", requestId);
+    }
+
+    @ParameterizedTest(name = "GET {0} as {1}")
+    @CsvSource({
+            "/users/{owner}, owner, 1",
+            "/users, owner, 1",
+            "/items/{item}, owner, 2",
+            "/items, owner, 2",
+            "/items/search?text=drill, booker, 1",
+            "/items/{item}/availability?from=2000-01-01T00:00:00&to=2100-01-01T00:00:00, owner, 3",
+            "/bookings/{booking}, booker, 1",
+            "/bookings?state=ALL, booker, 2",
+            "/bookings/owner?state=ALL, owner, 2",
+            "/requests, booker, 2",
+            "/requests/all, owner, 2",
+            "/requests/{request}, booker, 1"})
+    void endpointShouldIssueBoundedNumberOfStatements(String url, String user, long expected) throws Exception {
+        for (Map.Entry<String, Long> id : ids.entrySet()) {
+            url = url.replace("{" + id.getKey() + "}", id.getValue().toString());
+        }
+
+        assertEquals(expected, statements(url, ids.get(user)));
+    }
+
+    @Test
+    void batchInsertShouldBeSentInJdbcBatches() {
+        List<ItemDto> itemDtos = IntStream.range(0, BATCH_ROWS)
+                .mapToObj(i -> ItemDto.builder()
+                        .name("batch " + i)
+                        .description("batch description " + i)
+                        .available(true)
+                        .build())
+                .collect(Collectors.toList());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertEquals(BATCH_ROWS, itemService.addAll(ids.get("owner"), itemDtos).size());
+        assertEquals(BATCH_ROWS, statistics.getEntityInsertCount());
+        // one sequence call and at most one insert batch per 50 rows instead of a round trip per row
+        assertTrue(statistics.getPrepareStatementCount() <= 2 * (BATCH_ROWS / 50 + 1));
+    }
+
+    private static BookingDto booking(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return BookingDto.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(end)
+                .build();
+    }
+
+    private long statements(String url, Long userId) throws Exception {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get(url).header(HEADER_USER_ID, userId))
+                .andExpect(status().isOk());
+
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
@@ -84,6 +85,24 @@ class BookingControllerTest implements WithUserHeaderID {
         assertEquals(objectMapper.writeValueAsString(bookingResponseDto), result);
     }
 
+    @Test
+    @SneakyThrows
+    void shouldAddBookings() {
+        when(bookingService.addAll(user.getId(), List.of(bookingDto, bookingDto)))
+                .thenReturn(List.of(bookingResponseDto, bookingResponseDto));
+
+        String result = mockMvc.perform(post("/bookings/batch")
+                        .contentType("application/json")
+                        .header(HEADER_USER_ID, user.getId())
+                        .content(objectMapper.writeValueAsString(List.of(bookingDto, bookingDto))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(objectMapper.writeValueAsString(List.of(bookingResponseDto, bookingResponseDto)), result);
+    }
+
     @Test
     @SneakyThrows
     void shouldUpdateBooking() {
@@ -167,4 +186,51 @@ class BookingControllerTest implements WithUserHeaderID {
 
         assertEquals(objectMapper.writeValueAsString(List.of(bookingResponseDto)), result);
     }
+
+    @Test
+    @SneakyThrows
+    void shouldFindAllBookingsByUserIdAfterCursor() {
+        Integer size = 1;
+        String after = new BookingCursor(LocalDateTime.now().plusDays(3L), 5L).encode();
+        String nextCursor = new BookingCursor(bookingResponseDto.getStart(), bookingResponseDto.getId()).encode();
+
+        when(bookingService.findAllByBookerIdAfter(user.getId(), BookingState.ALL.toString(), after, size))
+                .thenReturn(List.of(bookingResponseDto));
+
+        String result = mockMvc.perform(get("/bookings")
+                        .param("state", "ALL")
+                        .param("after", after)
+                        .param("size", String.valueOf(size))
+                        .header(HEADER_USER_ID, user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(BookingCursor.HEADER_NEXT_CURSOR, nextCursor))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(objectMapper.writeValueAsString(List.of(bookingResponseDto)), result);
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldFindAllByOwnerIdAfterCursor() {
+        Integer size = 10;
+        String after = new BookingCursor(LocalDateTime.now().plusDays(3L), 5L).encode();
+
+        when(bookingService.findAllByOwnerIdAfter(user.getId(), BookingState.ALL.toString(), after, size))
+                .thenReturn(List.of(bookingResponseDto));
+
+        String result = mockMvc.perform(get("/bookings/owner")
+                        .param("state", "ALL")
+                        .param("after", after)
+                        .param("size", String.valueOf(size))
+                        .header(HEADER_USER_ID, user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(BookingCursor.HEADER_NEXT_CURSOR))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(objectMapper.writeValueAsString(List.of(bookingResponseDto)), result);
+    }
 }
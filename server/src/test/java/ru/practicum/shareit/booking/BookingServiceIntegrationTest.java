@@ -1,8 +1,10 @@
 package ru.practicum.shareit.booking;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -62,6 +64,11 @@ public class BookingServiceIntegrationTest {
             .end(LocalDateTime.now().plusSeconds(11L))
             .build();
 
+    private final BookingDto bookingDto2 = bookingDto1.toBuilder()
+            .start(bookingDto1.getEnd())
+            .end(bookingDto1.getEnd().plusSeconds(1L))
+            .build();
+
     @Test
     void bookingOperations() {
         UserDto addedUser1 = userService.add(userDto1);
@@ -70,7 +77,7 @@ public class BookingServiceIntegrationTest {
         itemService.add(addedUser2.getId(), itemDto2);
 
         BookingResponseDto bookingResponseDto1 = bookingService.add(addedUser1.getId(), bookingDto1);
-        BookingResponseDto bookingResponseDto2 = bookingService.add(addedUser1.getId(), bookingDto1);
+        BookingResponseDto bookingResponseDto2 = bookingService.add(addedUser1.getId(), bookingDto2);
 
         assertEquals(1L, bookingResponseDto1.getId());
         assertEquals(2L, bookingResponseDto2.getId());
@@ -94,6 +101,55 @@ public class BookingServiceIntegrationTest {
         assertEquals(2, bookingsDtoOut.size());
     }
 
+    @Test
+    void rejectOverlappingBookingUntilFirstIsRejected() {
+        UserDto booker = userService.add(userDto1);
+        UserDto owner = userService.add(userDto2);
+        itemService.add(booker.getId(), itemDto1);
+        itemService.add(owner.getId(), itemDto2);
+
+        BookingResponseDto first = bookingService.add(booker.getId(), bookingDto1);
+        BookingDto overlapping = bookingDto1.toBuilder()
+                .start(bookingDto1.getStart().minusSeconds(1L))
+                .build();
+
+        assertThrows(IllegalStateException.class, () -> bookingService.add(booker.getId(), overlapping));
+
+        bookingService.update(owner.getId(), first.getId(), false);
+
+        assertEquals(BookingStatus.WAITING, bookingService.add(booker.getId(), overlapping).getStatus());
+    }
+
+    @Test
+    void offsetPaginationShouldStartAtFromWhenNotMultipleOfSize() {
+        UserDto booker = userService.add(userDto1);
+        UserDto owner = userService.add(userDto2);
+        Long itemId = itemService.add(owner.getId(), itemDto2).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1L);
+        List<Long> newestFirst = new ArrayList<>();
+
+        for (int i = 0; i < 6; i++) {
+            newestFirst.add(0, bookingService.add(booker.getId(), BookingDto.builder()
+                    .itemId(itemId)
+                    .start(start.plusHours(i))
+                    .end(start.plusHours(i).plusMinutes(30L))
+                    .build()).getId());
+        }
+
+        List<Long> expected = newestFirst.subList(3, 5);
+
+        assertEquals(expected, ids(bookingService.findAllByBookerId(booker.getId(), "ALL", 3, 2)));
+        assertEquals(expected, ids(bookingService.findAllByBookerId(booker.getId(), "FUTURE", 3, 2)));
+        assertEquals(expected, ids(bookingService.findAllByOwnerId(owner.getId(), "ALL", 3, 2)));
+        assertEquals(expected, ids(bookingService.findAllByOwnerId(owner.getId(), "WAITING", 3, 2)));
+    }
+
+    private static List<Long> ids(List<BookingResponseDto> bookings) {
+        return bookings.stream()
+                .map(BookingResponseDto::getId)
+                .collect(Collectors.toList());
+    }
+
     @Test
     void throwNoSuchElementExceptionOnInvalidUserOrBooking() {
         Long userId = 3L;
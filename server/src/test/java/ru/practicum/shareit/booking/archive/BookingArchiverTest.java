@@ -0,0 +1,139 @@
+package ru.practicum.shareit.booking.archive;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.schedule.BookingInterval;
+import ru.practicum.shareit.booking.schedule.BookingSchedule;
+import ru.practicum.shareit.cache.EntityCacheConfig;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "shareit.booking-archive.batch-size=1")
+@Import({EntityCacheConfig.class, BookingArchiver.class, BookingSchedule.class})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class BookingArchiverTest {
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    @Autowired
+    private BookingArchiver bookingArchiver;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingSchedule bookingSchedule;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    private User owner;
+
+    private User booker;
+
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = testEntityManager.persist(User.builder().name("owner").email("owner@email.com").build());
+        booker = testEntityManager.persist(User.builder().name("booker").email("booker@email.com").build());
+        item = testEntityManager.persist(Item.builder()
+                .name("drill")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    @Test
+    void archiveShouldMoveOnlySupersededApprovedBookings() {
+        Booking oldest = persistBooking(90, BookingStatus.APPROVED);
+        Booking older = persistBooking(60, BookingStatus.APPROVED);
+        Booking rejected = persistBooking(50, BookingStatus.REJECTED);
+        Booking last = persistBooking(40, BookingStatus.APPROVED);
+        Booking next = persistBooking(-5, BookingStatus.APPROVED);
+
+        assertEquals(2, bookingArchiver.archive(now));
+        testEntityManager.clear();
+
+        assertEquals(List.of(rejected.getId(), last.getId(), next.getId()), bookingRepository.findAll().stream()
+                .map(Booking::getId)
+                .sorted()
+                .collect(Collectors.toList()));
+        assertEquals(List.of(older.getId(), oldest.getId()), archivedBookingRepository.findAllByBookerId(
+                        booker.getId(),
+                        PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"))).stream()
+                .map(BookingResponseDto::getId)
+                .collect(Collectors.toList()));
+        assertEquals(1, archivedBookingRepository.findAllByOwnerIdAfter(
+                owner.getId(),
+                older.getStart(),
+                older.getId(),
+                PageRequest.of(0, 10)).size());
+        assertTrue(archivedBookingRepository.existsByBookerIdAndItemId(booker.getId(), item.getId()));
+        assertEquals(List.of(older.getId()), archivedBookingRepository.findIntervalsByItemIdBetween(
+                        item.getId(), older.getStart(), now).stream()
+                .map(BookingInterval::getId)
+                .collect(Collectors.toList()));
+        assertEquals(older.getStart(), archivedBookingRepository.findById(older.getId()).orElseThrow()
+                .toBooking()
+                .getStart());
+        assertEquals(0, bookingArchiver.archive(now));
+    }
+
+    @Test
+    void archiveShouldRemoveArchivedIntervalsFromSchedule() {
+        Booking older = persistBooking(60, BookingStatus.APPROVED);
+        Booking recent = persistBooking(20, BookingStatus.APPROVED);
+
+        bookingSchedule.reserve(older);
+        bookingSchedule.reserve(recent);
+
+        assertEquals(1, bookingArchiver.archive(now));
+        assertTrue(bookingSchedule.isFree(item.getId(), older.getStart(), older.getEnd()));
+        assertFalse(bookingSchedule.isFree(item.getId(), recent.getStart(), recent.getEnd()));
+    }
+
+    @Test
+    void archiveShouldKeepBookingsWithinRetention() {
+        persistBooking(20, BookingStatus.APPROVED);
+        persistBooking(10, BookingStatus.APPROVED);
+
+        assertEquals(0, bookingArchiver.archive(now));
+    }
+
+    private Booking persistBooking(long startedDaysAgo, BookingStatus status) {
+        LocalDateTime start = now.minusDays(startedDaysAgo);
+
+        return testEntityManager.persist(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .owner(owner)
+                .start(start)
+                .end(start.plusDays(1))
+                .status(status)
+                .build());
+    }
+}
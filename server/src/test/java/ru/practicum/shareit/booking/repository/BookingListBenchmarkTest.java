@@ -0,0 +1,202 @@
+package ru.practicum.shareit.booking.repository;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+
+import com.sun.management.ThreadMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.mapper.MapperBooking;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BookingListBenchmarkTest {
+    private static final int ITEMS = Integer.getInteger("benchmark.items", 100);
+
+    private static final int BOOKINGS = Integer.getInteger("benchmark.bookings", 2_000);
+
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    private static final int PAGE_SIZE = 50;
+
+    private static final int PAGES = 20;
+
+    private static final int WARMUP_ROUNDS = 10;
+
+    private static final int MEASURED_ROUNDS = 20;
+
+    private static final List<String> STATUSES = List.of(
+            BookingStatus.APPROVED.name(), BookingStatus.WAITING.name(), BookingStatus.REJECTED.name());
+
+    private final ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (1, 'owner', 'owner@email.com')");
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (2, 'booker', 'booker@email.com')");
+
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+
+        for (int i = 0; i < ITEMS; i++) {
+            batch.add(new Object[]{i + 1, "item " + i, "description " + i, "item " + i, "description " + i});
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO items " +
+                "(id, name, description, available, owner_id, name_normalized, description_normalized) " +
+                "VALUES (?, ?, ?, true, 1, ?, ?)", batch);
+        batch.clear();
+
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = now.plusMinutes(random.nextInt(1_051_200) - 525_600);
+
+            batch.add(new Object[]{
+                    Timestamp.valueOf(start),
+                    Timestamp.valueOf(start.plusDays(1)),
+                    1 + random.nextInt(ITEMS),
+                    STATUSES.get(random.nextInt(STATUSES.size()))});
+
+            if (batch.size() == INSERT_BATCH_SIZE || i == BOOKINGS - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, owner_id, status) " +
+                        "VALUES (?, ?, ?, 2, 1, ?)", batch);
+                batch.clear();
+            }
+        }
+
+        log.info("Inserted {} items and {} bookings", ITEMS, BOOKINGS);
+    }
+
+    @Test
+    void compareEntitiesWithProjections() {
+        compare("Booker",
+                page -> entities("b.booker.id = ?1", 2L, page),
+                page -> bookingRepository.findAllByBookerId(2L, page));
+        compare("Owner",
+                page -> entities("b.item.owner.id = ?1", 1L, page),
+                page -> bookingRepository.findAllByOwnerId(1L, page));
+    }
+
+    private void compare(
+            String name,
+            Function<Pageable, List<BookingResponseDto>> entities,
+            Function<Pageable, List<BookingResponseDto>> projections) {
+        for (int page = 0; page < PAGES; page++) {
+            assertEquals(entities.apply(page(page)), projections.apply(page(page)), name + " page " + page);
+        }
+
+        Measurement entity = measure(name + " entities", entities);
+        Measurement projection = measure(name + " projections", projections);
+
+        log.info("{} bookings, {} per page: entities {} ms/page {} KB/page, projections {} ms/page {} KB/page",
+                name,
+                PAGE_SIZE,
+                String.format("%.3f", entity.millis),
+                entity.kilobytes,
+                String.format("%.3f", projection.millis),
+                projection.kilobytes);
+    }
+
+    private List<BookingResponseDto> entities(String condition, Long userId, Pageable pageable) {
+        return readOnly.execute(status -> entityManager.createQuery("SELECT b FROM Booking AS b " +
+                                "JOIN FETCH b.item " +
+                                "JOIN FETCH b.booker " +
+                                "WHERE " + condition + " " +
+                                "ORDER BY b.start DESC, b.id DESC",
+                        Booking.class)
+                .setParameter(1, userId)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultStream()
+                .map(MapperBooking::toBookingResponseDto)
+                .collect(Collectors.toList()));
+    }
+
+    private Measurement measure(String name, Function<Pageable, List<BookingResponseDto>> loadPage) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (int page = 0; page < PAGES; page++) {
+                loadPage.apply(page(page));
+            }
+        }
+
+        long rows = 0;
+        long threadId = Thread.currentThread().threadId();
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            for (int page = 0; page < PAGES; page++) {
+                rows += loadPage.apply(page(page)).size();
+            }
+        }
+
+        int pages = MEASURED_ROUNDS * PAGES;
+        Measurement measurement = new Measurement(
+                (System.nanoTime() - started) / 1_000_000.0 / pages,
+                (threadMXBean.getThreadAllocatedBytes(threadId) - allocated) / 1024 / pages);
+
+        log.info("{}: {} ms/page, {} KB allocated/page, {} rows",
+                name, String.format("%.3f", measurement.millis), measurement.kilobytes, rows);
+
+        return measurement;
+    }
+
+    private static Pageable page(int page) {
+        return PageRequest.of(page, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "start", "id"));
+    }
+
+    private static final class Measurement {
+        private final double millis;
+
+        private final long kilobytes;
+
+        private Measurement(double millis, long kilobytes) {
+            this.millis = millis;
+            this.kilobytes = kilobytes;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking.repository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,17 +11,21 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.cache.EntityCacheConfig;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.schedule.BookingInterval;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
+@Import(EntityCacheConfig.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
 class BookingRepositoryTest {
 
@@ -50,6 +55,7 @@ class BookingRepositoryTest {
     private final Booking booking = Booking.builder()
             .item(item)
             .booker(user)
+            .owner(owner)
             .status(BookingStatus.APPROVED)
             .start(LocalDateTime.now().minusHours(1L))
             .end(LocalDateTime.now().plusDays(1L))
@@ -58,6 +64,7 @@ class BookingRepositoryTest {
     private final Booking pastBooking = Booking.builder()
             .item(item)
             .booker(user)
+            .owner(owner)
             .status(BookingStatus.APPROVED)
             .start(LocalDateTime.now().minusDays(2L))
             .end(LocalDateTime.now().minusDays(1L))
@@ -66,6 +73,7 @@ class BookingRepositoryTest {
     private final Booking futureBooking = Booking.builder()
             .item(item)
             .booker(user)
+            .owner(owner)
             .status(BookingStatus.APPROVED)
             .start(LocalDateTime.now().plusDays(1L))
             .end(LocalDateTime.now().plusDays(2L))
@@ -89,7 +97,7 @@ class BookingRepositoryTest {
 
     @Test
     void findAllByBookerId() {
-        List<Booking> bookings = bookingRepository.findAllByBookerId(1L, PageRequest.of(0, 10));
+        List<BookingResponseDto> bookings = bookingRepository.findAllByBookerId(1L, PageRequest.of(0, 10));
 
         assertEquals(bookings.size(), 3);
         assertEquals(bookings.get(0).getBooker().getId(), 1L);
@@ -97,7 +105,7 @@ class BookingRepositoryTest {
 
     @Test
     void findAllByBookerIdAndStartBeforeAndEndAfter() {
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfter(
+        List<BookingResponseDto> bookings = bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfter(
                 1L,
                 LocalDateTime.now(),
                 LocalDateTime.now(),
@@ -109,7 +117,7 @@ class BookingRepositoryTest {
 
     @Test
     void findAllByBookerIdAndEndBefore() {
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndEndBefore(
+        List<BookingResponseDto> bookings = bookingRepository.findAllByBookerIdAndEndBefore(
                 1L,
                 LocalDateTime.now(),
                 PageRequest.of(0, 10));
@@ -120,7 +128,7 @@ class BookingRepositoryTest {
 
     @Test
     void findAllByBookerIdAndStartAfter() {
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndStartAfter(
+        List<BookingResponseDto> bookings = bookingRepository.findAllByBookerIdAndStartAfter(
                 1L,
                 LocalDateTime.now(),
                 PageRequest.of(0, 10));
@@ -134,6 +142,7 @@ class BookingRepositoryTest {
         Booking waitingBooking = Booking.builder()
                 .item(item)
                 .booker(user)
+                .owner(owner)
                 .status(BookingStatus.WAITING)
                 .start(LocalDateTime.now().plusDays(1L))
                 .end(LocalDateTime.now().plusDays(2L))
@@ -141,7 +150,7 @@ class BookingRepositoryTest {
 
         bookingRepository.save(waitingBooking);
 
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndStatus(
+        List<BookingResponseDto> bookings = bookingRepository.findAllByBookerIdAndStatus(
                 1L,
                 BookingStatus.WAITING,
                 PageRequest.of(0, 10));
@@ -151,40 +160,41 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findAllByItemOwner() {
-        List<Booking> bookings = bookingRepository.findAllByItemOwner(owner, PageRequest.of(0, 10));
+    void findAllByOwnerId() {
+        List<BookingResponseDto> bookings = bookingRepository.findAllByOwnerId(owner.getId(), PageRequest.of(0, 10));
 
         assertEquals(bookings.size(), 3);
     }
 
     @Test
-    void findAllByItemOwnerAndStartBeforeAndEndAfter() {
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerAndStartBeforeAndEndAfter(
-                owner,
+    void findAllByOwnerIdAndStartBeforeAndEndAfter() {
+        List<BookingResponseDto> bookings = bookingRepository.findAllByOwnerIdAndStartBeforeAndEndAfter(
+                owner.getId(),
                 LocalDateTime.now(),
                 LocalDateTime.now(),
                 PageRequest.of(0, 10));
 
         assertEquals(bookings.size(), 1);
-        assertEquals(bookings.get(0).getItem().getOwner().getId(), 2L);
+        assertEquals(bookings.get(0).getItem().getId(), item.getId());
     }
 
     @Test
-    void findAllByItemOwnerAndEndBefore() {
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerAndEndBefore(
-                owner,
+    void findAllByOwnerIdAndEndBefore() {
+        List<BookingResponseDto> bookings = bookingRepository.findAllByOwnerIdAndEndBefore(
+                owner.getId(),
                 LocalDateTime.now(),
                 PageRequest.of(0, 10));
 
         assertEquals(bookings.size(), 1);
-        assertEquals(bookings.get(0).getItem().getOwner().getId(), 2L);
+        assertEquals(bookings.get(0).getItem().getId(), item.getId());
     }
 
     @Test
-    void findAllByItemOwnerAndStartAfter() {
+    void findAllByOwnerIdAndStartAfter() {
         Booking waitingBooking = Booking.builder()
                 .item(item)
                 .booker(user)
+                .owner(owner)
                 .status(BookingStatus.WAITING)
                 .start(LocalDateTime.now().plusDays(1L))
                 .end(LocalDateTime.now().plusDays(2L))
@@ -192,8 +202,8 @@ class BookingRepositoryTest {
 
         bookingRepository.save(waitingBooking);
 
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerAndStartAfter(
-                owner,
+        List<BookingResponseDto> bookings = bookingRepository.findAllByOwnerIdAndStartAfter(
+                owner.getId(),
                 LocalDateTime.now(),
                 PageRequest.of(0, 10));
 
@@ -202,18 +212,19 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findAllByItemOwnerAndStatus() {
+    void findAllByOwnerIdAndStatus() {
         Booking rejectedBooking = Booking.builder()
                 .item(item)
                 .booker(user)
+                .owner(owner)
                 .status(BookingStatus.REJECTED)
                 .start(LocalDateTime.now().plusDays(1L))
                 .end(LocalDateTime.now().plusDays(2L))
                 .build();
 
         bookingRepository.save(rejectedBooking);
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerAndStatus(
-                owner,
+        List<BookingResponseDto> bookings = bookingRepository.findAllByOwnerIdAndStatus(
+                owner.getId(),
                 BookingStatus.REJECTED,
                 PageRequest.of(0, 10));
 
@@ -222,51 +233,141 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findFirstByItemIdAndItemOwnerIdAndStartBeforeAndStatus() {
-        Booking actual = bookingRepository.findFirstByItemIdAndItemOwnerIdAndStartBeforeAndStatus(
+    void findFirstByBookerIdAndItemIdAndEndBefore() {
+        Optional<Booking> actualOpt = bookingRepository.findFirstByBookerIdAndItemIdAndEndBefore(
                 1L,
-                2L,
-                LocalDateTime.now(),
-                BookingStatus.APPROVED,
-                Sort.by(Sort.Direction.DESC, "start"));
+                1L,
+                LocalDateTime.now());
 
-        assertEquals(actual.getId(), 1L);
+        assertEquals(actualOpt.isPresent(), true);
+
+        Booking actual = actualOpt.get();
+
+        assertEquals(actual.getStatus(), BookingStatus.APPROVED);
     }
 
     @Test
-    void findFirstByItemIdAndItemOwnerIdAndStartAfterAndStatus() {
-        Booking actual = bookingRepository.findFirstByItemIdAndItemOwnerIdAndStartAfterAndStatus(
+    void findAllByBookerIdAfter() {
+        List<BookingResponseDto> bookings = bookingRepository.findAllByBookerIdAfter(
                 1L,
-                2L,
-                LocalDateTime.now(),
-                BookingStatus.APPROVED,
-                Sort.by(Sort.Direction.ASC, "start"));
+                futureBooking.getStart().truncatedTo(ChronoUnit.SECONDS),
+                futureBooking.getId(),
+                PageRequest.of(0, 10));
 
-        assertEquals(actual.getId(), 3L);
+        assertEquals(bookings.size(), 2);
+        assertEquals(bookings.get(0).getId(), 1L);
+        assertEquals(bookings.get(1).getId(), 2L);
     }
 
     @Test
-    void findFirstByBookerIdAndItemIdAndEndBefore() {
-        Optional<Booking> actualOpt = bookingRepository.findFirstByBookerIdAndItemIdAndEndBefore(
+    void findAllByBookerIdAfterWhenStartIsEqualShouldOrderById() {
+        LocalDateTime start = LocalDateTime.now().plusDays(5L).truncatedTo(ChronoUnit.SECONDS);
+        Booking firstBooking = futureBooking.toBuilder()
+                .id(null)
+                .start(start)
+                .end(start.plusDays(1L))
+                .build();
+        Booking secondBooking = firstBooking.toBuilder()
+                .build();
+
+        bookingRepository.save(firstBooking);
+        bookingRepository.save(secondBooking);
+
+        List<BookingResponseDto> bookings = bookingRepository.findAllByBookerIdAfter(
                 1L,
+                start,
+                secondBooking.getId(),
+                PageRequest.of(0, 1));
+
+        assertEquals(bookings.size(), 1);
+        assertEquals(bookings.get(0).getId(), firstBooking.getId());
+    }
+
+    @Test
+    void findPastByBookerIdAfter() {
+        List<BookingResponseDto> bookings = bookingRepository.findPastByBookerIdAfter(
                 1L,
-                LocalDateTime.now());
+                LocalDateTime.now(),
+                LocalDateTime.now(),
+                Long.MAX_VALUE,
+                PageRequest.of(0, 10));
 
-        assertEquals(actualOpt.isPresent(), true);
+        assertEquals(bookings.size(), 1);
+        assertEquals(bookings.get(0).getId(), 2L);
+    }
 
-        Booking actual = actualOpt.get();
+    @Test
+    void findAllByOwnerIdAfter() {
+        List<BookingResponseDto> bookings = bookingRepository.findAllByOwnerIdAfter(
+                2L,
+                booking.getStart().truncatedTo(ChronoUnit.SECONDS),
+                booking.getId(),
+                PageRequest.of(0, 10));
 
-        assertEquals(actual.getStatus(), BookingStatus.APPROVED);
+        assertEquals(bookings.size(), 1);
+        assertEquals(bookings.get(0).getId(), 2L);
+    }
+
+    @Test
+    void findFutureByOwnerIdAfter() {
+        List<BookingResponseDto> bookings = bookingRepository.findFutureByOwnerIdAfter(
+                2L,
+                LocalDateTime.now(),
+                futureBooking.getStart().plusDays(1L),
+                Long.MAX_VALUE,
+                PageRequest.of(0, 10));
+
+        assertEquals(bookings.size(), 1);
+        assertEquals(bookings.get(0).getId(), 3L);
     }
 
     @Test
-    void findAllByItemInAndStatus() {
-        List<Booking> actual = bookingRepository.findAllByItemInAndStatus(
-                List.of(item),
-                BookingStatus.APPROVED,
+    void findIntervalsAfter() {
+        List<BookingInterval> intervals = bookingRepository.findIntervalsAfter(
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED),
+                LocalDateTime.now(),
+                0L,
                 PageRequest.of(0, 10));
 
-        assertEquals(actual.size(), 3);
-        assertEquals(actual.get(1).getStatus(), BookingStatus.APPROVED);
+        assertEquals(intervals.size(), 2);
+        assertEquals(intervals.get(0).getId(), booking.getId());
+        assertEquals(intervals.get(0).getItemId(), item.getId());
+        assertEquals(intervals.get(1).getId(), futureBooking.getId());
+        assertTrue(bookingRepository.findIntervalsAfter(
+                List.of(BookingStatus.REJECTED),
+                LocalDateTime.now(),
+                0L,
+                PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void findIntervalsByItemIdBetween() {
+        List<BookingInterval> intervals = bookingRepository.findIntervalsByItemIdBetween(
+                item.getId(),
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED),
+                LocalDateTime.now().minusDays(1L).plusHours(1L),
+                LocalDateTime.now().plusDays(1L).plusHours(1L));
+
+        assertEquals(intervals.size(), 2);
+        assertEquals(intervals.get(0).getId(), booking.getId());
+        assertEquals(intervals.get(1).getId(), futureBooking.getId());
+    }
+
+    @Test
+    void findIntervalsByItemIdBetweenShouldFindBookingStartedBeforeWindow() {
+        bookingRepository.save(booking.toBuilder()
+                .id(null)
+                .status(BookingStatus.REJECTED)
+                .start(LocalDateTime.now().minusMinutes(30L))
+                .build());
+
+        List<BookingInterval> intervals = bookingRepository.findIntervalsByItemIdBetween(
+                item.getId(),
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED),
+                LocalDateTime.now(),
+                LocalDateTime.now().plusHours(1L));
+
+        assertEquals(1, intervals.size());
+        assertEquals(booking.getId(), intervals.get(0).getId());
     }
 }
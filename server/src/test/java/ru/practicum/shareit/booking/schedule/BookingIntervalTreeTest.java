@@ -0,0 +1,83 @@
+package ru.practicum.shareit.booking.schedule;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingIntervalTreeTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private final BookingIntervalTree tree = new BookingIntervalTree();
+
+    @Test
+    void findOverlappingShouldTreatIntervalsAsHalfOpen() {
+        tree.insert(interval(1L, 0, 10));
+
+        assertTrue(tree.findOverlapping(at(10), at(20)).isEmpty());
+        assertTrue(tree.findOverlapping(at(-10), at(0)).isEmpty());
+        assertEquals(1L, tree.findOverlapping(at(9), at(20)).orElseThrow().getId());
+        assertEquals(1L, tree.findOverlapping(at(2), at(3)).orElseThrow().getId());
+    }
+
+    @Test
+    void findOverlappingShouldFindLongIntervalInLeftSubtree() {
+        tree.insert(interval(1L, 0, 100));
+        for (long id = 2; id < 20; id++) {
+            tree.insert(interval(id, (int) id * 10, (int) id * 10 + 5));
+        }
+
+        assertEquals(1L, tree.findOverlapping(at(96), at(99)).orElseThrow().getId());
+        assertTrue(tree.findOverlapping(at(195), at(200)).isEmpty());
+    }
+
+    @Test
+    void treeShouldMatchLinearScan() {
+        Random random = new Random(42);
+        List<BookingInterval> intervals = new ArrayList<>();
+
+        for (long id = 1; id <= 500; id++) {
+            int start = random.nextInt(10_000);
+            BookingInterval interval = interval(id, start, start + 1 + random.nextInt(50));
+
+            intervals.add(interval);
+            tree.insert(interval);
+        }
+
+        for (int i = 0; i < 250; i++) {
+            tree.remove(intervals.remove(random.nextInt(intervals.size())));
+        }
+
+        assertEquals(intervals.size(), tree.size());
+
+        for (int i = 0; i < 2_000; i++) {
+            int start = random.nextInt(10_000);
+            LocalDateTime from = at(start);
+            LocalDateTime to = at(start + 1 + random.nextInt(50));
+            boolean expected = intervals.stream().anyMatch(interval -> interval.overlaps(from, to));
+
+            assertEquals(expected, tree.findOverlapping(from, to).isPresent());
+        }
+    }
+
+    @Test
+    void removeShouldIgnoreUnknownInterval() {
+        tree.insert(interval(1L, 0, 10));
+        tree.remove(interval(2L, 0, 10));
+
+        assertEquals(1, tree.size());
+    }
+
+    private static BookingInterval interval(Long id, int start, int end) {
+        return new BookingInterval(id, 1L, at(start), at(end));
+    }
+
+    private static LocalDateTime at(int minutes) {
+        return NOW.plusMinutes(minutes);
+    }
+}
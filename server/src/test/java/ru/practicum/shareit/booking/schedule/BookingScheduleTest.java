@@ -0,0 +1,135 @@
+package ru.practicum.shareit.booking.schedule;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingScheduleTest {
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingSchedule bookingSchedule;
+
+    private final Item item = Item.builder()
+            .id(1L)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        when(bookingRepository.findIntervalsAfter(anyCollection(), any(LocalDateTime.class), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(new BookingInterval(1L, 1L, start, start.plusHours(2))));
+
+        bookingSchedule = new BookingSchedule(bookingRepository);
+        bookingSchedule.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void isFreeShouldUseRebuiltIntervals() {
+        assertFalse(bookingSchedule.isFree(1L, start.plusHours(1), start.plusHours(3)));
+        assertTrue(bookingSchedule.isFree(1L, start.plusHours(2), start.plusHours(3)));
+        assertTrue(bookingSchedule.isFree(2L, start, start.plusHours(3)));
+    }
+
+    @Test
+    void reserveShouldRejectOverlappingBooking() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> bookingSchedule.reserve(booking(2L, start.minusHours(1), start.plusHours(1))));
+
+        assertEquals(String.format("Item 1 is already booked from %s to %s", start, start.plusHours(2)),
+                exception.getMessage());
+    }
+
+    @Test
+    void reserveAndReleaseShouldUpdateSchedule() {
+        Booking booking = booking(2L, start.plusHours(2), start.plusHours(4));
+
+        bookingSchedule.reserve(booking);
+        assertFalse(bookingSchedule.isFree(1L, start.plusHours(3), start.plusHours(5)));
+
+        bookingSchedule.release(booking);
+        assertTrue(bookingSchedule.isFree(1L, start.plusHours(3), start.plusHours(5)));
+    }
+
+    @Test
+    void rollbackShouldRevertReservationAndRelease() {
+        Booking reserved = booking(2L, start.plusHours(2), start.plusHours(4));
+        Booking released = booking(1L, start, start.plusHours(2));
+
+        TransactionSynchronizationManager.initSynchronization();
+        bookingSchedule.reserve(reserved);
+        bookingSchedule.release(released);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(
+                        TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertTrue(bookingSchedule.isFree(1L, start.plusHours(3), start.plusHours(5)));
+        assertFalse(bookingSchedule.isFree(1L, start, start.plusHours(1)));
+    }
+
+    @Test
+    void commitShouldKeepReservation() {
+        TransactionSynchronizationManager.initSynchronization();
+        bookingSchedule.reserve(booking(2L, start.plusHours(2), start.plusHours(4)));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(
+                        TransactionSynchronization.STATUS_COMMITTED));
+
+        assertFalse(bookingSchedule.isFree(1L, start.plusHours(3), start.plusHours(5)));
+    }
+
+    @Test
+    void pruneShouldRemoveEndedIntervals() {
+        Booking ended = booking(2L, start.plusHours(2), start.plusHours(4));
+        Booking later = booking(3L, start.plusHours(5), start.plusHours(6));
+
+        bookingSchedule.reserve(ended);
+        bookingSchedule.reserve(later);
+
+        assertEquals(2, bookingSchedule.prune(start.plusHours(4)));
+        assertTrue(bookingSchedule.isFree(1L, start, start.plusHours(4)));
+        assertFalse(bookingSchedule.isFree(1L, start.plusHours(5), start.plusHours(6)));
+        assertEquals(0, bookingSchedule.prune(start.plusHours(4)));
+    }
+
+    private Booking booking(Long id, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .id(id)
+                .item(item)
+                .start(start)
+                .end(end)
+                .build();
+    }
+}
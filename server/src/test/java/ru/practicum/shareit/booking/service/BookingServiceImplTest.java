@@ -4,28 +4,44 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.archive.ArchivedBooking;
+import ru.practicum.shareit.booking.archive.ArchivedBookingRepository;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.mapper.MapperBooking;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.schedule.BookingSchedule;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.cache.UserIdCache;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.MapperUser;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.any;
 
@@ -37,6 +53,12 @@ class BookingServiceImplTest {
     private ItemRepository itemRepository;
     @Mock
     private BookingRepository bookingRepository;
+    @Mock
+    private ArchivedBookingRepository archivedBookingRepository;
+    @Mock
+    private BookingSchedule bookingSchedule;
+    @Mock
+    private UserIdCache userIdCache;
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -71,6 +93,8 @@ class BookingServiceImplTest {
             .end(LocalDateTime.now().plusDays(2L))
             .build();
 
+    private final String after = new BookingCursor(LocalDateTime.now().plusDays(3L), 10L).encode();
+
     private final BookingDto bookingDtoEndBeforeStart = BookingDto.builder()
             .itemId(1L)
             .start(LocalDateTime.now().plusDays(1L))
@@ -79,8 +103,6 @@ class BookingServiceImplTest {
 
     @Test
     void createWhenEndIsBeforeStartShouldThrowValidationException() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(itemRepository.findById(item.getId()))
                 .thenReturn(Optional.of(item));
 
@@ -96,8 +118,6 @@ class BookingServiceImplTest {
                 .available(false)
                 .build();
 
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(itemRepository.findById(item.getId()))
                 .thenReturn(Optional.of(unaviableItem));
 
@@ -107,10 +127,44 @@ class BookingServiceImplTest {
         assertEquals(exception.getMessage(), "Item 1 is unavailable");
     }
 
+    @Test
+    void createShouldReserveBookingInterval() {
+        User booker = user.toBuilder()
+                .id(2L)
+                .build();
+
+        when(itemRepository.findById(item.getId()))
+                .thenReturn(Optional.of(item));
+        when(bookingRepository.save(any(Booking.class)))
+                .thenReturn(booking);
+
+        BookingResponseDto actual = bookingService.add(booker.getId(), bookingDto);
+
+        assertEquals(booking.getId(), actual.getId());
+        verify(bookingSchedule).reserve(booking);
+    }
+
+    @Test
+    void createWhenIntervalIsBookedShouldThrowValidationException() {
+        User booker = user.toBuilder()
+                .id(2L)
+                .build();
+
+        when(itemRepository.findById(item.getId()))
+                .thenReturn(Optional.of(item));
+        when(bookingRepository.save(any(Booking.class)))
+                .thenReturn(booking);
+        doThrow(new IllegalStateException("Item 1 is already booked"))
+                .when(bookingSchedule).reserve(booking);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> bookingService.add(booker.getId(), bookingDto));
+
+        assertEquals(exception.getMessage(), "Item 1 is already booked");
+    }
+
     @Test
     void createWhenItemOwnerEqualsBookerShouldThrowValidationException() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(itemRepository.findById(item.getId()))
                 .thenReturn(Optional.of(item));
 
@@ -120,14 +174,50 @@ class BookingServiceImplTest {
         assertEquals(exception.getMessage(), "User 1 can not book own item 1");
     }
 
+    @Test
+    void addAllShouldLoadItemsOnceAndReserveEveryBooking() {
+        Booking other = booking.toBuilder()
+                .id(2L)
+                .start(booking.getStart().plusDays(2L))
+                .end(booking.getEnd().plusDays(2L))
+                .build();
+
+        when(itemRepository.findAllById(Set.of(item.getId())))
+                .thenReturn(List.of(item));
+        when(bookingRepository.saveAll(anyList()))
+                .thenReturn(List.of(booking, other));
+
+        List<BookingResponseDto> actual = bookingService.addAll(2L, List.of(
+                bookingDto,
+                bookingDto.toBuilder()
+                        .start(other.getStart())
+                        .end(other.getEnd())
+                        .build()));
+
+        assertEquals(List.of(booking.getId(), other.getId()), actual.stream()
+                .map(BookingResponseDto::getId)
+                .collect(Collectors.toList()));
+        verify(bookingSchedule).reserve(booking);
+        verify(bookingSchedule).reserve(other);
+    }
+
+    @Test
+    void addAllWhenItemNotFoundShouldThrowNoSuchElementException() {
+        when(itemRepository.findAllById(Set.of(item.getId())))
+                .thenReturn(List.of());
+
+        NoSuchElementException exception = assertThrows(NoSuchElementException.class,
+                () -> bookingService.addAll(2L, List.of(bookingDto)));
+
+        assertEquals(exception.getMessage(), "Item 1 not found");
+    }
+
     @Test
     void update() {
         Booking bookingWaiting = booking.toBuilder()
                 .status(BookingStatus.WAITING)
                 .build();
 
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(bookingRepository.findById(bookingWaiting.getId()))
                 .thenReturn(Optional.of(bookingWaiting));
         when(bookingRepository.save(bookingWaiting))
@@ -147,8 +237,6 @@ class BookingServiceImplTest {
                 .status(BookingStatus.WAITING)
                 .build();
 
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(bookingRepository.findById(bookingWaiting.getId()))
                 .thenReturn(Optional.of(bookingWaiting));
         when(bookingRepository.save(bookingWaiting))
@@ -160,6 +248,7 @@ class BookingServiceImplTest {
                 false);
 
         assertEquals(BookingStatus.REJECTED, actual.getStatus());
+        verify(bookingSchedule).release(bookingWaiting);
     }
 
     @Test
@@ -168,8 +257,6 @@ class BookingServiceImplTest {
                 .status(BookingStatus.APPROVED)
                 .build();
 
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(bookingRepository.findById(bookingApproved.getId()))
                 .thenReturn(Optional.of(bookingApproved));
 
@@ -192,8 +279,6 @@ class BookingServiceImplTest {
                 .item(newItem)
                 .build();
 
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(bookingRepository.findById(newBooking.getId()))
                 .thenReturn(Optional.of(newBooking));
 
@@ -212,8 +297,6 @@ class BookingServiceImplTest {
                 .booker(newUser)
                 .build();
 
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(bookingRepository.findById(newBooking.getId()))
                 .thenReturn(Optional.of(newBooking));
 
@@ -225,8 +308,6 @@ class BookingServiceImplTest {
 
     @Test
     void getByIdWhenBookingIdIsNotValidShouldThrowObjectNoSuchElementException() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(bookingRepository.findById(anyLong()))
                 .thenReturn(Optional.empty());
 
@@ -238,8 +319,6 @@ class BookingServiceImplTest {
 
     @Test
     void getByIdWhenUserIsNotItemOwnerShouldThrowObjectNoSuchElementException() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(bookingRepository.findById(booking.getId()))
                 .thenReturn(Optional.of(booking));
 
@@ -249,12 +328,131 @@ class BookingServiceImplTest {
         assertEquals(exception.getMessage(), "User 1 does not own or booked item 1");
     }
 
+    @Test
+    void getByIdWhenBookingIsArchivedShouldReadArchive() {
+        User newUser = user.toBuilder()
+                .id(2L)
+                .build();
+        ArchivedBooking archivedBooking = ArchivedBooking.builder()
+                .id(booking.getId())
+                .item(item)
+                .start(LocalDateTime.now().minusDays(60L))
+                .end(LocalDateTime.now().minusDays(59L))
+                .booker(newUser)
+                .owner(user)
+                .status(BookingStatus.APPROVED)
+                .build();
+
+        when(bookingRepository.findById(booking.getId()))
+                .thenReturn(Optional.empty());
+        when(archivedBookingRepository.findById(booking.getId()))
+                .thenReturn(Optional.of(archivedBooking));
+
+        BookingResponseDto expected = MapperBooking.toBookingResponseDto(archivedBooking.toBooking());
+        BookingResponseDto actual = bookingService.findByUserIdAndBookingId(user.getId(), booking.getId());
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getAllByBookerWhenBookingStatePastShouldMergeArchivedPage() {
+        BookingResponseDto recent = pastBooking(5L, 1L);
+        BookingResponseDto archived = pastBooking(2L, 40L);
+        BookingResponseDto oldest = pastBooking(1L, 60L);
+        Pageable firstPages = OffsetPageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "start", "id"));
+
+        when(bookingRepository.findAllByBookerIdAndEndBefore(
+                eq(user.getId()),
+                any(LocalDateTime.class),
+                eq(firstPages))
+        ).thenReturn(List.of(recent));
+        when(archivedBookingRepository.findAllByBookerId(user.getId(), firstPages))
+                .thenReturn(List.of(archived, oldest));
+
+        assertEquals(List.of(oldest), bookingService.findAllByBookerId(user.getId(), "PAST", 2, 1));
+    }
+
+    @Test
+    void getAllByBookerWhenPageEndsAtMergeStepShouldReadOneStep() {
+        List<BookingResponseDto> bookings = pastBookings(10_000);
+        Pageable step = OffsetPageRequest.of(0, 10_000, Sort.by(Sort.Direction.DESC, "start", "id"));
+
+        when(bookingRepository.findAllByBookerId(user.getId(), step))
+                .thenReturn(bookings);
+        when(archivedBookingRepository.findAllByBookerId(user.getId(), step))
+                .thenReturn(List.of());
+
+        assertEquals(bookings.subList(9_990, 10_000),
+                bookingService.findAllByBookerId(user.getId(), "ALL", 9_990, 10));
+        verify(bookingRepository, never())
+                .findAllByBookerIdAfter(anyLong(), any(LocalDateTime.class), anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void getAllByBookerWhenPageCrossesMergeStepShouldResumeAfterLastSkipped() {
+        List<BookingResponseDto> bookings = pastBookings(10_000);
+        BookingResponseDto lastSkipped = bookings.get(9_990);
+        BookingResponseDto next = bookings.get(9_991);
+        BookingResponseDto archived = pastBooking(20_000L, 20_000L);
+        Pageable step = OffsetPageRequest.of(0, 10_000, Sort.by(Sort.Direction.DESC, "start", "id"));
+
+        when(bookingRepository.findAllByBookerId(user.getId(), step))
+                .thenReturn(bookings);
+        when(archivedBookingRepository.findAllByBookerId(user.getId(), step))
+                .thenReturn(List.of());
+        when(bookingRepository.findAllByBookerIdAfter(
+                user.getId(), lastSkipped.getStart(), lastSkipped.getId(), PageRequest.of(0, 10))
+        ).thenReturn(bookings.subList(9_991, 10_000));
+        when(archivedBookingRepository.findAllByBookerIdAfter(
+                user.getId(), lastSkipped.getStart(), lastSkipped.getId(), PageRequest.of(0, 10))
+        ).thenReturn(List.of(archived));
+
+        List<BookingResponseDto> page = bookingService.findAllByBookerId(user.getId(), "ALL", 9_991, 10);
+
+        assertEquals(10, page.size());
+        assertEquals(next, page.get(0));
+        assertEquals(archived, page.get(9));
+    }
+
+    @Test
+    void getAllByOwnerWhenOffsetIsPastAllBookingsShouldReturnEmptyPage() {
+        Pageable step = OffsetPageRequest.of(0, 10_000, Sort.by(Sort.Direction.DESC, "start", "id"));
+
+        when(bookingRepository.findAllByOwnerIdAndEndBefore(eq(user.getId()), any(LocalDateTime.class), eq(step)))
+                .thenReturn(List.of(pastBooking(5L, 1L)));
+        when(archivedBookingRepository.findAllByOwnerId(user.getId(), step))
+                .thenReturn(List.of(pastBooking(2L, 40L)));
+
+        assertTrue(bookingService.findAllByOwnerId(user.getId(), "PAST", 50_000, 10).isEmpty());
+        verify(bookingRepository, never()).findPastByOwnerIdAfter(
+                anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void getAllByOwnerAfterCursorWhenBookingStateAllShouldMergeArchive() {
+        BookingResponseDto recent = pastBooking(5L, 1L);
+        BookingResponseDto archived = pastBooking(2L, 40L);
+
+        when(bookingRepository.findAllByOwnerIdAfter(
+                anyLong(),
+                any(LocalDateTime.class),
+                anyLong(),
+                any(Pageable.class))
+        ).thenReturn(List.of(recent));
+        when(archivedBookingRepository.findAllByOwnerIdAfter(
+                anyLong(),
+                any(LocalDateTime.class),
+                anyLong(),
+                any(Pageable.class))
+        ).thenReturn(List.of(archived));
+
+        assertEquals(List.of(recent, archived), bookingService.findAllByOwnerIdAfter(user.getId(), "ALL", after, 10));
+    }
+
     @Test
     void getAllByBookerWhenBookingStateAll() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(bookingRepository.findAllByBookerId(anyLong(), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(MapperBooking.toBookingResponseDto(booking)));
 
         List<BookingResponseDto> expected = List.of(MapperBooking.toBookingResponseDto(booking));
         List<BookingResponseDto> actual = bookingService.findAllByBookerId(user.getId(), "ALL", 0, 10);
@@ -264,14 +462,12 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByBooker_whenBookingStateCURRENT() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfter(
                 anyLong(),
                 any(LocalDateTime.class),
                 any(LocalDateTime.class),
                 any(Pageable.class))
-        ).thenReturn(List.of(booking));
+        ).thenReturn(List.of(MapperBooking.toBookingResponseDto(booking)));
 
         List<BookingResponseDto> expected = List.of(MapperBooking.toBookingResponseDto(booking));
         List<BookingResponseDto> actual = bookingService.findAllByBookerId(user.getId(), "CURRENT", 0, 10);
@@ -281,13 +477,11 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByBookerWhenBookingStatePAST() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(bookingRepository.findAllByBookerIdAndEndBefore(
                 anyLong(),
                 any(LocalDateTime.class),
                 any(Pageable.class))
-        ).thenReturn(List.of(booking));
+        ).thenReturn(List.of(MapperBooking.toBookingResponseDto(booking)));
 
         List<BookingResponseDto> expected = List.of(MapperBooking.toBookingResponseDto(booking));
         List<BookingResponseDto> actual = bookingService.findAllByBookerId(user.getId(), "PAST", 0, 10);
@@ -297,13 +491,11 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByBookerWhenBookingStateFUTURE() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(bookingRepository.findAllByBookerIdAndStartAfter(
                 anyLong(),
                 any(LocalDateTime.class),
                 any(Pageable.class))
-        ).thenReturn(List.of(booking));
+        ).thenReturn(List.of(MapperBooking.toBookingResponseDto(booking)));
 
         List<BookingResponseDto> expected = List.of(MapperBooking.toBookingResponseDto(booking));
         List<BookingResponseDto> actual = bookingService.findAllByBookerId(user.getId(), "FUTURE", 0, 10);
@@ -313,13 +505,11 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByBookerWhenBookingStateWAITING() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(bookingRepository.findAllByBookerIdAndStatus(
                 anyLong(),
                 any(BookingStatus.class),
                 any(Pageable.class))
-        ).thenReturn(List.of(booking));
+        ).thenReturn(List.of(MapperBooking.toBookingResponseDto(booking)));
 
         List<BookingResponseDto> expected = List.of(MapperBooking.toBookingResponseDto(booking));
         List<BookingResponseDto> actual = bookingService.findAllByBookerId(user.getId(), "WAITING", 0, 10);
@@ -330,13 +520,11 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByBookerWhenBookingStateREJECTED() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(bookingRepository.findAllByBookerIdAndStatus(
                 anyLong(),
                 any(BookingStatus.class),
                 any(Pageable.class))
-        ).thenReturn(List.of(booking));
+        ).thenReturn(List.of(MapperBooking.toBookingResponseDto(booking)));
 
         List<BookingResponseDto> expected = List.of(MapperBooking.toBookingResponseDto(booking));
         List<BookingResponseDto> actual = bookingService.findAllByBookerId(user.getId(), "REJECTED", 0, 10);
@@ -346,8 +534,6 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByBookerWhenBookingStateIsNotValidShouldThrowIllegalArgumentException() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
 
         assertThrows(IllegalStateException.class,
                 () -> bookingService.findAllByBookerId(user.getId(), "UNKNOWN", 0, 10));
@@ -355,12 +541,10 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByOwnerWhenBookingStateAll() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
-        when(bookingRepository.findAllByItemOwner(
-                any(User.class),
+        when(bookingRepository.findAllByOwnerId(
+                anyLong(),
                 any(Pageable.class))
-        ).thenReturn(List.of(booking));
+        ).thenReturn(List.of(MapperBooking.toBookingResponseDto(booking)));
 
         List<BookingResponseDto> expected = List.of(MapperBooking.toBookingResponseDto(booking));
         List<BookingResponseDto> actual = bookingService.findAllByOwnerId(user.getId(), "ALL", 0, 10);
@@ -370,14 +554,12 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByOwnerWhenBookingStateCURRENT() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
-        when(bookingRepository.findAllByItemOwnerAndStartBeforeAndEndAfter(
-                any(User.class),
+        when(bookingRepository.findAllByOwnerIdAndStartBeforeAndEndAfter(
+                anyLong(),
                 any(LocalDateTime.class),
                 any(LocalDateTime.class),
                 any(Pageable.class))
-        ).thenReturn(List.of(booking));
+        ).thenReturn(List.of(MapperBooking.toBookingResponseDto(booking)));
 
         List<BookingResponseDto> expected = List.of(MapperBooking.toBookingResponseDto(booking));
         List<BookingResponseDto> actual = bookingService.findAllByOwnerId(user.getId(), "CURRENT", 0, 10);
@@ -387,13 +569,11 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByOwnerWhenBookingStatePAST() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
-        when(bookingRepository.findAllByItemOwnerAndEndBefore(
-                any(User.class),
+        when(bookingRepository.findAllByOwnerIdAndEndBefore(
+                anyLong(),
                 any(LocalDateTime.class),
                 any(Pageable.class))
-        ).thenReturn(List.of(booking));
+        ).thenReturn(List.of(MapperBooking.toBookingResponseDto(booking)));
 
         List<BookingResponseDto> expected = List.of(MapperBooking.toBookingResponseDto(booking));
         List<BookingResponseDto> actual = bookingService.findAllByOwnerId(user.getId(), "PAST", 0, 10);
@@ -403,13 +583,11 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByOwnerWhenBookingStateFUTURE() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
-        when(bookingRepository.findAllByItemOwnerAndStartAfter(
-                any(User.class),
+        when(bookingRepository.findAllByOwnerIdAndStartAfter(
+                anyLong(),
                 any(LocalDateTime.class),
                 any(Pageable.class))
-        ).thenReturn(List.of(booking));
+        ).thenReturn(List.of(MapperBooking.toBookingResponseDto(booking)));
 
         List<BookingResponseDto> expected = List.of(MapperBooking.toBookingResponseDto(booking));
         List<BookingResponseDto> actual = bookingService.findAllByOwnerId(user.getId(), "FUTURE", 0, 10);
@@ -419,13 +597,11 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByOwnerWhenBookingStateWAITING() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
-        when(bookingRepository.findAllByItemOwnerAndStatus(
-                any(User.class),
+        when(bookingRepository.findAllByOwnerIdAndStatus(
+                anyLong(),
                 any(BookingStatus.class),
                 any(Pageable.class))
-        ).thenReturn(List.of(booking));
+        ).thenReturn(List.of(MapperBooking.toBookingResponseDto(booking)));
 
         List<BookingResponseDto> expected = List.of(MapperBooking.toBookingResponseDto(booking));
         List<BookingResponseDto> actual = bookingService.findAllByOwnerId(user.getId(), "WAITING", 0, 10);
@@ -435,13 +611,11 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByOwnerWhenBookingStateREJECTED() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
-        when(bookingRepository.findAllByItemOwnerAndStatus(
-                any(User.class),
+        when(bookingRepository.findAllByOwnerIdAndStatus(
+                anyLong(),
                 any(BookingStatus.class),
                 any(Pageable.class))
-        ).thenReturn(List.of(booking));
+        ).thenReturn(List.of(MapperBooking.toBookingResponseDto(booking)));
 
         List<BookingResponseDto> expected = List.of(MapperBooking.toBookingResponseDto(booking));
         List<BookingResponseDto> actual = bookingService.findAllByOwnerId(user.getId(), "REJECTED", 0, 10);
@@ -451,10 +625,231 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByOwnerWhenBookingStateIsNotValidThenThrowIllegalStateException() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
 
         assertThrows(IllegalStateException.class,
                 () -> bookingService.findAllByOwnerId(user.getId(), "UNKNOWN", 0, 10));
     }
+
+    @Test
+    void getAllByBookerAfterCursorWhenBookingStateALL() {
+        when(bookingRepository.findAllByBookerIdAfter(
+                anyLong(),
+                any(LocalDateTime.class),
+                anyLong(),
+                any(Pageable.class))
+        ).thenReturn(List.of(MapperBooking.toBookingResponseDto(booking)));
+
+        List<BookingResponseDto> expected = List.of(MapperBooking.toBookingResponseDto(booking));
+        List<BookingResponseDto> actual = bookingService.findAllByBookerIdAfter(user.getId(), "ALL", after, 10);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getAllByBookerAfterCursorWhenBookingStateCURRENT() {
+        when(bookingRepository.findCurrentByBookerIdAfter(
+                anyLong(),
+                any(LocalDateTime.class),
+                any(LocalDateTime.class),
+                anyLong(),
+                any(Pageable.class))
+        ).thenReturn(List.of(MapperBooking.toBookingResponseDto(booking)));
+
+        List<BookingResponseDto> expected = List.of(MapperBooking.toBookingResponseDto(booking));
+        List<BookingResponseDto> actual = bookingService.findAllByBookerIdAfter(user.getId(), "CURRENT", after, 10);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getAllByBookerAfterCursorWhenBookingStatePAST() {
+        when(bookingRepository.findPastByBookerIdAfter(
+                anyLong(),
+                any(LocalDateTime.class),
+                any(LocalDateTime.class),
+                anyLong(),
+                any(Pageable.class))
+        ).thenReturn(List.of(MapperBooking.toBookingResponseDto(booking)));
+
+        List<BookingResponseDto> expected = List.of(MapperBooking.toBookingResponseDto(booking));
+        List<BookingResponseDto> actual = bookingService.findAllByBookerIdAfter(user.getId(), "PAST", after, 10);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getAllByBookerAfterCursorWhenBookingStateFUTURE() {
+        when(bookingRepository.findFutureByBookerIdAfter(
+                anyLong(),
+                any(LocalDateTime.class),
+                any(LocalDateTime.class),
+                anyLong(),
+                any(Pageable.class))
+        ).thenReturn(List.of(MapperBooking.toBookingResponseDto(booking)));
+
+        List<BookingResponseDto> expected = List.of(MapperBooking.toBookingResponseDto(booking));
+        List<BookingResponseDto> actual = bookingService.findAllByBookerIdAfter(user.getId(), "FUTURE", after, 10);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getAllByBookerAfterCursorWhenBookingStateWAITING() {
+        when(bookingRepository.findAllByBookerIdAndStatusAfter(
+                anyLong(),
+                any(BookingStatus.class),
+                any(LocalDateTime.class),
+                anyLong(),
+                any(Pageable.class))
+        ).thenReturn(List.of(MapperBooking.toBookingResponseDto(booking)));
+
+        List<BookingResponseDto> expected = List.of(MapperBooking.toBookingResponseDto(booking));
+        List<BookingResponseDto> actual = bookingService.findAllByBookerIdAfter(user.getId(), "WAITING", after, 10);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getAllByBookerAfterCursorWhenBookingStateREJECTED() {
+        when(bookingRepository.findAllByBookerIdAndStatusAfter(
+                anyLong(),
+                any(BookingStatus.class),
+                any(LocalDateTime.class),
+                anyLong(),
+                any(Pageable.class))
+        ).thenReturn(List.of(MapperBooking.toBookingResponseDto(booking)));
+
+        List<BookingResponseDto> expected = List.of(MapperBooking.toBookingResponseDto(booking));
+        List<BookingResponseDto> actual = bookingService.findAllByBookerIdAfter(user.getId(), "REJECTED", after, 10);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getAllByBookerAfterCursorWhenCursorIsNotValidShouldThrowIllegalStateException() {
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> bookingService.findAllByBookerIdAfter(user.getId(), "ALL", "not-a-cursor", 10));
+
+        assertEquals(exception.getMessage(), "Invalid cursor: not-a-cursor");
+    }
+
+    @Test
+    void getAllByOwnerAfterCursorWhenBookingStateALL() {
+        when(bookingRepository.findAllByOwnerIdAfter(
+                anyLong(),
+                any(LocalDateTime.class),
+                anyLong(),
+                any(Pageable.class))
+        ).thenReturn(List.of(MapperBooking.toBookingResponseDto(booking)));
+
+        List<BookingResponseDto> expected = List.of(MapperBooking.toBookingResponseDto(booking));
+        List<BookingResponseDto> actual = bookingService.findAllByOwnerIdAfter(user.getId(), "ALL", after, 10);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getAllByOwnerAfterCursorWhenBookingStateCURRENT() {
+        when(bookingRepository.findCurrentByOwnerIdAfter(
+                anyLong(),
+                any(LocalDateTime.class),
+                any(LocalDateTime.class),
+                anyLong(),
+                any(Pageable.class))
+        ).thenReturn(List.of(MapperBooking.toBookingResponseDto(booking)));
+
+        List<BookingResponseDto> expected = List.of(MapperBooking.toBookingResponseDto(booking));
+        List<BookingResponseDto> actual = bookingService.findAllByOwnerIdAfter(user.getId(), "CURRENT", after, 10);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getAllByOwnerAfterCursorWhenBookingStatePAST() {
+        when(bookingRepository.findPastByOwnerIdAfter(
+                anyLong(),
+                any(LocalDateTime.class),
+                any(LocalDateTime.class),
+                anyLong(),
+                any(Pageable.class))
+        ).thenReturn(List.of(MapperBooking.toBookingResponseDto(booking)));
+
+        List<BookingResponseDto> expected = List.of(MapperBooking.toBookingResponseDto(booking));
+        List<BookingResponseDto> actual = bookingService.findAllByOwnerIdAfter(user.getId(), "PAST", after, 10);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getAllByOwnerAfterCursorWhenBookingStateFUTURE() {
+        when(bookingRepository.findFutureByOwnerIdAfter(
+                anyLong(),
+                any(LocalDateTime.class),
+                any(LocalDateTime.class),
+                anyLong(),
+                any(Pageable.class))
+        ).thenReturn(List.of(MapperBooking.toBookingResponseDto(booking)));
+
+        List<BookingResponseDto> expected = List.of(MapperBooking.toBookingResponseDto(booking));
+        List<BookingResponseDto> actual = bookingService.findAllByOwnerIdAfter(user.getId(), "FUTURE", after, 10);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getAllByOwnerAfterCursorWhenBookingStateWAITING() {
+        when(bookingRepository.findAllByOwnerIdAndStatusAfter(
+                anyLong(),
+                any(BookingStatus.class),
+                any(LocalDateTime.class),
+                anyLong(),
+                any(Pageable.class))
+        ).thenReturn(List.of(MapperBooking.toBookingResponseDto(booking)));
+
+        List<BookingResponseDto> expected = List.of(MapperBooking.toBookingResponseDto(booking));
+        List<BookingResponseDto> actual = bookingService.findAllByOwnerIdAfter(user.getId(), "WAITING", after, 10);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getAllByOwnerAfterCursorWhenBookingStateREJECTED() {
+        when(bookingRepository.findAllByOwnerIdAndStatusAfter(
+                anyLong(),
+                any(BookingStatus.class),
+                any(LocalDateTime.class),
+                anyLong(),
+                any(Pageable.class))
+        ).thenReturn(List.of(MapperBooking.toBookingResponseDto(booking)));
+
+        List<BookingResponseDto> expected = List.of(MapperBooking.toBookingResponseDto(booking));
+        List<BookingResponseDto> actual = bookingService.findAllByOwnerIdAfter(user.getId(), "REJECTED", after, 10);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getAllByOwnerAfterCursorWhenCursorIsNotValidShouldThrowIllegalStateException() {
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> bookingService.findAllByOwnerIdAfter(user.getId(), "ALL", "not-a-cursor", 10));
+
+        assertEquals(exception.getMessage(), "Invalid cursor: not-a-cursor");
+    }
+
+    private List<BookingResponseDto> pastBookings(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(daysAgo -> pastBooking(daysAgo, daysAgo))
+                .collect(Collectors.toList());
+    }
+
+    private BookingResponseDto pastBooking(Long id, long daysAgo) {
+        return MapperBooking.toBookingResponseDto(booking.toBuilder()
+                .id(id)
+                .start(LocalDateTime.now().minusDays(daysAgo))
+                .end(LocalDateTime.now().minusDays(daysAgo).plusHours(2))
+                .status(BookingStatus.APPROVED)
+                .build());
+    }
 }
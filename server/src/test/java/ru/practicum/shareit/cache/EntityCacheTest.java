@@ -0,0 +1,99 @@
+package ru.practicum.shareit.cache;
+
+import java.time.LocalDateTime;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class EntityCacheTest {
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void findByIdShouldReadUserFromCache() {
+        User user = userRepository.save(new User(null, "name", "email@email.com"));
+
+        userRepository.findById(user.getId());
+        double hits = gets(CacheRegions.USERS, "hit");
+
+        userRepository.findById(user.getId());
+        userRepository.findById(user.getId());
+
+        assertEquals(hits + 2, gets(CacheRegions.USERS, "hit"));
+    }
+
+    @Test
+    void saveAndDeleteShouldInvalidateUser() {
+        User user = userRepository.save(new User(null, "name", "email@email.com"));
+
+        userRepository.save(user.toBuilder().name("updated").build());
+
+        assertEquals("updated", userRepository.findById(user.getId()).orElseThrow().getName());
+
+        userRepository.deleteById(user.getId());
+
+        assertTrue(userRepository.findById(user.getId()).isEmpty());
+    }
+
+    @Test
+    void findResponsesByItemIdShouldBeInvalidatedByNewComment() {
+        User user = userRepository.save(new User(null, "name", "email@email.com"));
+        Item item = itemRepository.save(Item.builder()
+                .name("name")
+                .description("description")
+                .available(true)
+                .owner(user)
+                .build());
+
+        commentRepository.save(comment(item, user));
+
+        assertEquals(1, commentRepository.findResponsesByItemId(item.getId()).size());
+        double hits = gets(CacheRegions.COMMENTS_BY_ITEM, "hit");
+        assertEquals(1, commentRepository.findResponsesByItemId(item.getId()).size());
+        assertEquals(hits + 1, gets(CacheRegions.COMMENTS_BY_ITEM, "hit"));
+
+        commentRepository.save(comment(item, user));
+
+        assertEquals(2, commentRepository.findResponsesByItemId(item.getId()).size());
+    }
+
+    private static Comment comment(Item item, User author) {
+        return Comment.builder()
+                .item(item)
+                .author(author)
+                .text("text")
+                .created(LocalDateTime.now())
+                .build();
+    }
+
+    private double gets(String region, String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", region)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
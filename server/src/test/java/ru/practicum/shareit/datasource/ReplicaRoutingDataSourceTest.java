@@ -0,0 +1,141 @@
+package ru.practicum.shareit.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource first;
+
+    @Mock
+    private DataSource second;
+
+    @Mock
+    private Connection connection;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+
+        replicas.put("replica-0", first);
+        replicas.put("replica-1", second);
+        dataSource = new ReplicaRoutingDataSource(primary, replicas, Duration.ofMinutes(1), Duration.ofSeconds(1));
+        dataSource.afterPropertiesSet();
+        dataSource.bindTo(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.clearCurrentUser();
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void readOnlyTransactionsShouldRoundRobinOverReplicas() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals("replica-0", dataSource.determineCurrentLookupKey());
+        assertEquals("replica-1", dataSource.determineCurrentLookupKey());
+        assertEquals("replica-0", dataSource.determineCurrentLookupKey());
+        assertEquals(3.0, routed("replica"));
+    }
+
+    @Test
+    void writeTransactionsShouldUsePrimary() {
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+        assertEquals(1.0, routed("read-write"));
+    }
+
+    @Test
+    void readOnlyTransactionsShouldUsePrimaryWithinReadYourWritesWindow() {
+        ReplicaRoutingDataSource.setCurrentUser(1L);
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+        assertEquals(1.0, routed("read-your-writes"));
+
+        ReplicaRoutingDataSource.setCurrentUser(2L);
+
+        assertEquals("replica-0", dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readOnlyTransactionsShouldUseReplicaOnceWindowExpires() {
+        dataSource = new ReplicaRoutingDataSource(primary, Map.of("replica-0", first), Duration.ZERO,
+                Duration.ofSeconds(1));
+        ReplicaRoutingDataSource.setCurrentUser(1L);
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        dataSource.determineCurrentLookupKey();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals("replica-0", dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void checkReplicasShouldRouteAroundFailedReplicas() throws SQLException {
+        when(first.getConnection()).thenThrow(new SQLException("down"));
+        when(second.getConnection()).thenReturn(connection);
+        when(connection.isValid(anyInt())).thenReturn(true, false, true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        dataSource.checkReplicas();
+
+        assertEquals("replica-1", dataSource.determineCurrentLookupKey());
+        assertEquals("replica-1", dataSource.determineCurrentLookupKey());
+        assertEquals(1.0, healthyReplicas());
+
+        dataSource.checkReplicas();
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+        assertEquals(1.0, routed("no-healthy-replica"));
+        assertEquals(0.0, healthyReplicas());
+
+        dataSource.checkReplicas();
+
+        assertEquals("replica-1", dataSource.determineCurrentLookupKey());
+    }
+
+    private double routed(String route) {
+        return meterRegistry.get("shareit.datasource.routing").tag("route", route).functionCounter().count();
+    }
+
+    private double healthyReplicas() {
+        return meterRegistry.get("shareit.datasource.routing.healthy.replicas").gauge().value();
+    }
+}
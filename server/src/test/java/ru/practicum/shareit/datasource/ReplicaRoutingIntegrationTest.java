@@ -0,0 +1,98 @@
+package ru.practicum.shareit.datasource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.headers.WithUserHeaderID;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shareit-primary",
+        "shareit.datasource.replicas[0].url=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+        "shareit.datasource.read-your-writes-window=1m"
+})
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ReplicaRoutingIntegrationTest implements WithUserHeaderID {
+    static final String REPLICA_URL = "jdbc:h2:mem:shareit-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // The replica only gets the schema, so anything read back from it proves where the query went
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "test", "test")
+                .locations("classpath:db/migration", "classpath:db/h2")
+                .load()
+                .migrate();
+    }
+
+    @Test
+    void readOnlyTransactionsShouldUseReplica() {
+        UserDto user = userService.add(UserDto.builder().name("writer").email("writer@email.com").build());
+
+        assertTrue(userService.findAll().stream().noneMatch(u -> u.getId().equals(user.getId())));
+    }
+
+    @Test
+    void readsShouldSeeOwnWritesWithinWindow() throws Exception {
+        Long owner = userService.add(UserDto.builder().name("owner").email("owner@email.com").build()).getId();
+        Long other = userService.add(UserDto.builder().name("other").email("other@email.com").build()).getId();
+
+        insertIntoReplica(String.format("INSERT INTO users (id, name, email) VALUES (%d, 'other', 'other@email.com')",
+                other));
+
+        String response = mockMvc.perform(post("/items")
+                        .header(HEADER_USER_ID, owner)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ItemDto.builder()
+                                .name("drill")
+                                .description("description")
+                                .available(true)
+                                .build())))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        Long itemId = objectMapper.readTree(response).get("id").asLong();
+
+        mockMvc.perform(get("/items/{itemId}", itemId).header(HEADER_USER_ID, owner))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/items/{itemId}", itemId).header(HEADER_USER_ID, other))
+                .andExpect(status().isNotFound());
+    }
+
+    private static void insertIntoReplica(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "test", "test");
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
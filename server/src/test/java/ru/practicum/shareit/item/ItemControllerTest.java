@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -10,8 +11,10 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.headers.WithUserHeaderID;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.mapper.MapperItem;
@@ -76,6 +79,30 @@ class ItemControllerTest implements WithUserHeaderID {
         assertEquals(itemDto.getAvailable(), actual.getAvailable());
     }
 
+    @Test
+    @SneakyThrows
+    void createItems() {
+        Long userId = 0L;
+        List<ItemDto> itemDtos = List.of(MapperItem.toItemDto(item), MapperItem.toItemDto(item));
+        List<ItemResponseDto> expected = List.of(
+                MapperItem.toItemResponseDto(item),
+                MapperItem.toItemResponseDto(item.toBuilder().id(2L).build()));
+
+        when(itemService.addAll(userId, itemDtos))
+                .thenReturn(expected);
+
+        String result = mockMvc.perform(post("/items/batch")
+                        .contentType("application/json")
+                        .header(HEADER_USER_ID, userId)
+                        .content(objectMapper.writeValueAsString(itemDtos)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(objectMapper.writeValueAsString(expected), result);
+    }
+
     @Test
     @SneakyThrows
     void updateExistingItem() {
@@ -194,4 +221,33 @@ class ItemControllerTest implements WithUserHeaderID {
 
         assertEquals(objectMapper.writeValueAsString(commentDtoOut), result);
     }
+
+    @Test
+    @SneakyThrows
+    void findAvailability() {
+        Long userId = 1L;
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = from.plusDays(1L);
+        ItemAvailabilityDto availability = ItemAvailabilityDto.builder()
+                .itemId(item.getId())
+                .from(from)
+                .to(to)
+                .busy(List.of(new AvailabilityIntervalDto(from, from.plusHours(1L))))
+                .free(List.of(new AvailabilityIntervalDto(from.plusHours(1L), to)))
+                .build();
+
+        when(itemService.findAvailability(userId, item.getId(), from, to))
+                .thenReturn(availability);
+
+        String result = mockMvc.perform(get("/items/{itemId}/availability", item.getId())
+                        .header(HEADER_USER_ID, userId)
+                        .param("from", "2030-01-01T10:00:00")
+                        .param("to", "2030-01-02T10:00:00"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(objectMapper.writeValueAsString(availability), result);
+    }
 }
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.Assertions;
@@ -122,6 +124,22 @@ public class ItemServiceIntegrationTest {
         assertEquals("name", addedItemRequest.getName());
     }
 
+    @Test
+    void findAllByUserIdShouldStartAtFromWhenNotMultipleOfSize() {
+        UserDto itemOwner = userService.add(userDto1);
+
+        for (int i = 0; i < 6; i++) {
+            itemService.add(itemOwner.getId(), itemDto1.toBuilder()
+                    .name("item " + i)
+                    .build());
+        }
+
+        List<Long> all = ids(itemService.findAllByUserId(itemOwner.getId(), 0, 10));
+
+        assertEquals(6, all.size());
+        assertEquals(all.subList(3, 5), ids(itemService.findAllByUserId(itemOwner.getId(), 3, 2)));
+    }
+
     @Test
     void getInvalidItemById() {
         Long itemId = 3L;
@@ -129,4 +147,10 @@ public class ItemServiceIntegrationTest {
         Assertions.assertThrows(RuntimeException.class,
                         () -> itemService.findOneById(userDto1.getId(), itemId));
     }
+
+    private static List<Long> ids(List<ItemResponseDto> items) {
+        return items.stream()
+                .map(ItemResponseDto::getId)
+                .collect(Collectors.toList());
+    }
 }
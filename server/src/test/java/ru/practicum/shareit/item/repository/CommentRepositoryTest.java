@@ -9,7 +9,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.cache.EntityCacheConfig;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
@@ -17,6 +20,7 @@ import ru.practicum.shareit.user.User;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
+@Import(EntityCacheConfig.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
 class CommentRepositoryTest {
     @Autowired
@@ -85,4 +89,14 @@ class CommentRepositoryTest {
         assertEquals(comments.get(0).getText(), "comment");
         assertEquals(comments.get(1).getText(), "other comment");
     }
+
+    @Test
+    void findResponsesByItemId() {
+        List<CommentResponseDto> comments = commentRepository.findResponsesByItemId(item2.getId());
+
+        assertEquals(comments.size(), 1);
+        assertEquals(comments.get(0).getText(), "other comment");
+        assertEquals(comments.get(0).getAuthorName(), "name");
+        assertEquals(comments.get(0).getItemId(), item2.getId());
+    }
 }
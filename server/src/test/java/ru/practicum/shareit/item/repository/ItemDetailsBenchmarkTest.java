@@ -0,0 +1,193 @@
+package ru.practicum.shareit.item.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ItemDetailsBenchmarkTest {
+    private static final int ITEMS = Integer.getInteger("benchmark.items", 10_000);
+
+    private static final int BOOKINGS = Integer.getInteger("benchmark.bookings", 1_000_000);
+
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final int PAGES = 20;
+
+    private static final int WARMUP_ROUNDS = 2;
+
+    private static final int MEASURED_ROUNDS = 5;
+
+    private static final List<String> STATUSES = List.of(
+            BookingStatus.APPROVED.name(), BookingStatus.APPROVED.name(), BookingStatus.APPROVED.name(),
+            BookingStatus.WAITING.name(), BookingStatus.REJECTED.name(), BookingStatus.CANCELED.name());
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (1, 'owner', 'owner@email.com')");
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (2, 'booker', 'booker@email.com')");
+
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+
+        for (int i = 0; i < ITEMS; i++) {
+            batch.add(new Object[]{i + 1, "item " + i, "description " + i, "item " + i, "description " + i});
+
+            if (batch.size() == INSERT_BATCH_SIZE || i == ITEMS - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO items " +
+                        "(id, name, description, available, owner_id, name_normalized, description_normalized) " +
+                        "VALUES (?, ?, ?, true, 1, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+
+        Random random = new Random(42);
+
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = now.plusMinutes(random.nextInt(1_051_200) - 525_600);
+
+            batch.add(new Object[]{
+                    Timestamp.valueOf(start),
+                    Timestamp.valueOf(start.plusDays(1)),
+                    1 + random.nextInt(ITEMS),
+                    STATUSES.get(random.nextInt(STATUSES.size()))});
+
+            if (batch.size() == INSERT_BATCH_SIZE || i == BOOKINGS - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, owner_id, status) " +
+                        "VALUES (?, ?, ?, 2, 1, ?)", batch);
+                batch.clear();
+            }
+        }
+
+        log.info("Inserted {} items and {} bookings", ITEMS, BOOKINGS);
+    }
+
+    @Test
+    void compareSetBasedWithPerItemHistory() {
+        for (int page = 0; page < PAGES; page++) {
+            assertEquals(history(page), setBased(page), "page " + page);
+        }
+
+        double history = measure("Approved history", this::history);
+        double setBased = measure("Set-based last/next", this::setBased);
+
+        log.info("Owner with {} items and {} bookings: history {} ms/page, set-based {} ms/page, speedup x{}",
+                ITEMS,
+                BOOKINGS,
+                String.format("%.3f", history),
+                String.format("%.3f", setBased),
+                String.format("%.1f", history / setBased));
+    }
+
+    private List<String> setBased(int page) {
+        return itemRepository.findDetailsByOwnerId(1L, now, PAGE_SIZE, page(page).getOffset()).stream()
+                .map(item -> String.format("%d:%s/%s",
+                        item.getId(), item.getLastBookingId(), item.getNextBookingId()))
+                .collect(Collectors.toList());
+    }
+
+    private List<String> history(int page) {
+        return transactionTemplate.execute(status -> {
+            List<Item> items = itemRepository.findAllByOwnerId(1L, page(page));
+            Map<Long, List<Booking>> bookings = entityManager.createQuery("SELECT b FROM Booking AS b " +
+                                    "JOIN FETCH b.item " +
+                                    "JOIN FETCH b.booker " +
+                                    "WHERE b.item IN ?1 AND b.status = ?2",
+                            Booking.class)
+                    .setParameter(1, items)
+                    .setParameter(2, BookingStatus.APPROVED)
+                    .getResultStream()
+                    .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+
+            return items.stream()
+                    .map(item -> {
+                        List<Booking> itemBookings = bookings.getOrDefault(item.getId(), List.of());
+                        Long last = itemBookings.stream()
+                                .filter(booking -> !booking.getStart().isAfter(now))
+                                .max(Comparator.comparing(Booking::getStart).thenComparing(Booking::getId))
+                                .map(Booking::getId)
+                                .orElse(null);
+                        Long next = itemBookings.stream()
+                                .filter(booking -> booking.getStart().isAfter(now))
+                                .min(Comparator.comparing(Booking::getStart).thenComparing(Booking::getId))
+                                .map(Booking::getId)
+                                .orElse(null);
+
+                        return String.format("%d:%s/%s", item.getId(), last, next);
+                    })
+                    .collect(Collectors.toList());
+        });
+    }
+
+    private double measure(String name, Function<Integer, List<String>> loadPage) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (int page = 0; page < PAGES; page++) {
+                loadPage.apply(page);
+            }
+        }
+
+        long resolved = 0;
+        long started = System.nanoTime();
+
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            for (int page = 0; page < PAGES; page++) {
+                resolved += loadPage.apply(page).stream()
+                        .filter(Objects::nonNull)
+                        .count();
+            }
+        }
+
+        double perPage = (System.nanoTime() - started) / 1_000_000.0 / (MEASURED_ROUNDS * PAGES);
+
+        log.info("{}: {} ms/page, {} items resolved", name, String.format("%.3f", perPage), resolved);
+
+        return perPage;
+    }
+
+    private static Pageable page(int page) {
+        return PageRequest.of(page * (ITEMS / PAGE_SIZE / PAGES), PAGE_SIZE);
+    }
+}
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.item.repository;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import org.junit.jupiter.api.AfterEach;
@@ -8,14 +10,22 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.cache.EntityCacheConfig;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemDetails;
+import ru.practicum.shareit.item.search.ItemDocument;
+import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
+@Import(EntityCacheConfig.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
 class ItemRepositoryTest {
 
@@ -64,4 +74,164 @@ class ItemRepositoryTest {
         assertEquals(items.size(), 1);
         assertEquals(items.get(0).getName(), "name");
     }
+
+    @Test
+    void findDocumentsAfter() {
+        List<ItemDocument> documents = itemRepository.findDocumentsAfter(0L, PageRequest.of(0, 10));
+
+        assertEquals(documents.size(), 1);
+        assertEquals(documents.get(0).getName(), "name");
+        assertTrue(documents.get(0).isAvailable());
+        assertTrue(itemRepository.findDocumentsAfter(item.getId(), PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void searchAvailableItemsByNormalizedText() {
+        List<Item> items = itemRepository.searchAvailableItemsByNormalizedText("scrip", PageRequest.of(0, 1));
+
+        assertEquals(items.size(), 1);
+        assertEquals(items.get(0).getDescriptionNormalized(), "description");
+    }
+
+    @Test
+    void saveShouldNormalizeUpdatedText() {
+        item.setName("ДрЕль");
+        itemRepository.saveAndFlush(item);
+
+        assertEquals(itemRepository.searchAvailableItemsByNormalizedText("дрель", PageRequest.of(0, 1)).size(), 1);
+        assertTrue(itemRepository.searchAvailableItemsByNormalizedText("ДрЕль", PageRequest.of(0, 1)).isEmpty());
+    }
+
+    @Test
+    void findDetailsById() {
+        User booker = testEntityManager.persist(User.builder()
+                .name("booker")
+                .email("booker@email.com")
+                .build());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        persistBooking(booker, now.minusDays(2), BookingStatus.APPROVED);
+        Booking last = persistBooking(booker, now.minusDays(1), BookingStatus.APPROVED);
+        persistBooking(booker, now.minusHours(1), BookingStatus.REJECTED);
+        Booking next = persistBooking(booker, now.plusDays(1), BookingStatus.APPROVED);
+        persistBooking(booker, now.plusDays(2), BookingStatus.WAITING);
+        testEntityManager.flush();
+
+        ItemDetails forOwner = itemRepository.findDetailsById(item.getId(), user.getId(), now).orElseThrow();
+
+        assertEquals(forOwner.getName(), "name");
+        assertTrue(forOwner.getAvailable());
+        assertTrue(forOwner.getUserExists());
+        assertEquals(forOwner.getLastBookingId(), last.getId());
+        assertEquals(forOwner.getLastBookerId(), booker.getId());
+        assertEquals(forOwner.getNextBookingId(), next.getId());
+        assertEquals(forOwner.getNextBookerId(), booker.getId());
+
+        ItemDetails forBooker = itemRepository.findDetailsById(item.getId(), booker.getId(), now).orElseThrow();
+
+        assertTrue(forBooker.getUserExists());
+        assertNull(forBooker.getLastBookingId());
+        assertNull(forBooker.getNextBookingId());
+
+        assertFalse(itemRepository.findDetailsById(item.getId(), 99L, now).orElseThrow().getUserExists());
+        assertTrue(itemRepository.findDetailsById(99L, user.getId(), now).isEmpty());
+    }
+
+    @Test
+    void findDetailsShouldTreatBookingStartingNowAsLast() {
+        User booker = testEntityManager.persist(User.builder()
+                .name("booker")
+                .email("booker@email.com")
+                .build());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        persistBooking(booker, now.minusDays(1), BookingStatus.APPROVED);
+        Booking startingNow = persistBooking(booker, now, BookingStatus.APPROVED);
+        Booking next = persistBooking(booker, now.plusDays(1), BookingStatus.APPROVED);
+        testEntityManager.flush();
+
+        ItemDetails single = itemRepository.findDetailsById(item.getId(), user.getId(), now).orElseThrow();
+        ItemDetails listed = itemRepository.findDetailsByOwnerId(user.getId(), now, 10, 0).get(0);
+
+        assertEquals(single.getLastBookingId(), startingNow.getId());
+        assertEquals(single.getNextBookingId(), next.getId());
+        assertEquals(listed.getLastBookingId(), startingNow.getId());
+        assertEquals(listed.getNextBookingId(), next.getId());
+    }
+
+    @Test
+    void findDetailsByOwnerId() {
+        User booker = testEntityManager.persist(User.builder()
+                .name("booker")
+                .email("booker@email.com")
+                .build());
+        Item other = testEntityManager.persist(item.toBuilder()
+                .id(null)
+                .name("other")
+                .build());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        persistBooking(booker, now.minusDays(2), BookingStatus.APPROVED);
+        Booking last = persistBooking(booker, now, BookingStatus.APPROVED);
+        Booking next = persistBooking(booker, now.plusDays(1), BookingStatus.APPROVED);
+        persistBooking(booker, now.plusDays(2), BookingStatus.APPROVED);
+        persistBooking(booker, now.plusHours(1), BookingStatus.REJECTED);
+        testEntityManager.flush();
+
+        List<ItemDetails> details = itemRepository.findDetailsByOwnerId(user.getId(), now, 10, 0);
+
+        assertEquals(details.size(), 2);
+        assertEquals(details.get(0).getId(), item.getId());
+        assertEquals(details.get(0).getLastBookingId(), last.getId());
+        assertEquals(details.get(0).getNextBookingId(), next.getId());
+        assertEquals(details.get(0).getNextBookerId(), booker.getId());
+        assertEquals(details.get(1).getId(), other.getId());
+        assertNull(details.get(1).getLastBookingId());
+        assertNull(details.get(1).getNextBookingId());
+
+        List<ItemDetails> secondPage = itemRepository.findDetailsByOwnerId(user.getId(), now, 1, 1);
+
+        assertEquals(secondPage.size(), 1);
+        assertEquals(secondPage.get(0).getName(), "other");
+        assertTrue(itemRepository.findDetailsByOwnerId(booker.getId(), now, 10, 0).isEmpty());
+    }
+
+    @Test
+    void findAllByRequestIdInOrderById() {
+        ItemRequest request = testEntityManager.persist(ItemRequest.builder()
+                .description("request")
+                .requester(user)
+                .build());
+        ItemRequest otherRequest = testEntityManager.persist(ItemRequest.builder()
+                .description("other request")
+                .requester(user)
+                .build());
+        Item answer = testEntityManager.persist(item.toBuilder()
+                .id(null)
+                .request(request)
+                .build());
+        Item otherAnswer = testEntityManager.persist(item.toBuilder()
+                .id(null)
+                .request(otherRequest)
+                .build());
+        testEntityManager.flush();
+
+        List<Item> items = itemRepository.findAllByRequestIdInOrderById(List.of(request.getId(), otherRequest.getId()));
+
+        assertEquals(items.size(), 2);
+        assertEquals(items.get(0).getId(), answer.getId());
+        assertEquals(items.get(1).getId(), otherAnswer.getId());
+        assertTrue(itemRepository.findAllByRequestIdInOrderById(List.of(99L)).isEmpty());
+    }
+
+    private Booking persistBooking(User booker, LocalDateTime start, BookingStatus status) {
+        return testEntityManager.persist(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .owner(item.getOwner())
+                .start(start)
+                .end(start.plusHours(2))
+                .status(status)
+                .build());
+    }
 }
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.cache.EntityCacheConfig;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import(EntityCacheConfig.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class ItemSearchBackendConsistencyTest {
+    private static final List<String> QUERIES = List.of(
+            "дрель", "ДРЕЛЬ", "рель", "ль а", "отвертка", "шуруповерт", "-", "+", "...");
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    private Map<String, ItemSearchBackend> backends;
+
+    @BeforeEach
+    void setUp() {
+        User owner = testEntityManager.persist(User.builder()
+                .name("owner")
+                .email("owner@email.com")
+                .build());
+
+        item(owner, "Дрель", "Простая дрель", true);
+        item(owner, "Отвертка", "Аккумуляторная отвертка", true);
+        item(owner, "Дрель+", "Аккумуляторная дрель", true);
+        item(owner, "Дрель ударная", "Сломанная дрель", false);
+        item(owner, "Перфоратор", "Дрель аккумуляторная с ударом", true);
+        item(owner, "Шуруповерт", "Дрель-шуруповерт", true);
+        item(owner, "Набор бит", "Для отвертки и дрели", true);
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        ItemSearchIndex itemSearchIndex = new ItemSearchIndex(itemRepository);
+        itemSearchIndex.rebuild();
+
+        backends = Map.of(
+                "index", new IndexItemSearchBackend(itemSearchIndex, itemRepository),
+                "like", new LikeItemSearchBackend(itemRepository),
+                "trigram", new TrigramItemSearchBackend(itemRepository));
+    }
+
+    @Test
+    void backendsShouldReturnSamePages() {
+        for (String query : QUERIES) {
+            List<Long> all = ids(backends.get("like").search(query, 0, 100));
+
+            for (int size = 1; size <= 3; size++) {
+                for (int from = 0; from <= all.size(); from++) {
+                    List<Long> expected = all.subList(from, Math.min(all.size(), from + size));
+
+                    for (Map.Entry<String, ItemSearchBackend> backend : backends.entrySet()) {
+                        assertEquals(expected, ids(backend.getValue().search(query, from, size)),
+                                String.format("%s: \"%s\" from %d size %d", backend.getKey(), query, from, size));
+                    }
+                }
+            }
+        }
+    }
+
+    private void item(User owner, String name, String description, boolean available) {
+        testEntityManager.persist(Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build());
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+}
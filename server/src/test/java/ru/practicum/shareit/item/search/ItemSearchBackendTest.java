@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchBackendTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+
+    private final Item drill = Item.builder()
+            .id(1L)
+            .name("Дрель")
+            .description("Простая дрель")
+            .available(true)
+            .build();
+
+    private final Item batteryDrill = drill.toBuilder()
+            .id(3L)
+            .description("Аккумуляторная дрель")
+            .build();
+
+    @Test
+    void indexBackendShouldKeepIndexOrder() {
+        ItemSearchBackend backend = new IndexItemSearchBackend(itemSearchIndex, itemRepository);
+
+        when(itemSearchIndex.search("дрель", 0, 10))
+                .thenReturn(List.of(1L, 2L, 3L));
+        when(itemRepository.findAllById(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(batteryDrill, drill));
+
+        assertEquals(List.of(drill, batteryDrill), backend.search("дрель", 0, 10));
+    }
+
+    @Test
+    void indexBackendShouldPutItemIntoIndex() {
+        new IndexItemSearchBackend(itemSearchIndex, itemRepository).index(drill);
+
+        verify(itemSearchIndex).put(drill);
+    }
+
+    @Test
+    void likeBackendShouldSearchFromOffsetById() {
+        ItemSearchBackend backend = new LikeItemSearchBackend(itemRepository);
+
+        when(itemRepository.searchAvailableItemsByNameAndDescription(
+                "ДрЕль", OffsetPageRequest.of(7, 5, Sort.by("id"))))
+                .thenReturn(List.of(drill));
+
+        assertEquals(List.of(drill), backend.search("ДрЕль", 7, 5));
+
+        backend.index(drill);
+        verifyNoInteractions(itemSearchIndex);
+    }
+
+    @Test
+    void trigramBackendShouldSearchByNormalizedText() {
+        ItemSearchBackend backend = new TrigramItemSearchBackend(itemRepository);
+
+        when(itemRepository.searchAvailableItemsByNormalizedText(
+                "дрель", OffsetPageRequest.of(0, 10, Sort.by("id"))))
+                .thenReturn(List.of(drill, batteryDrill));
+
+        assertEquals(List.of(drill, batteryDrill), backend.search("ДрЕль", 0, 10));
+    }
+}
@@ -0,0 +1,150 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ItemSearchBenchmarkTest {
+    private static final int ITEMS = Integer.getInteger("benchmark.items", 1_000_000);
+
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    private static final int WARMUP_ROUNDS = 2;
+
+    private static final int MEASURED_ROUNDS = 5;
+
+    private static final int GENERATED_WORDS = 20_000;
+
+    private static final List<String> SYLLABLES = List.of(
+            "ба", "ве", "ги", "до", "жу", "за", "ки", "ло", "му", "не", "по", "ра", "си", "ту", "фе", "ха",
+            "ka", "lo", "mi", "ne", "po", "ru", "sa", "te");
+
+    private static final List<String> TOOLS = List.of(
+            "дрель", "отвертка", "молоток", "пила", "лестница", "палатка", "велосипед", "самокат",
+            "фонарь", "рюкзак", "котелок", "спальник", "перфоратор", "шуруповерт", "стремянка", "тачка");
+
+    private static final List<String> QUERIES = List.of(
+            "дрель", "оТверТ", "перфоратор", "садовая тачка", "спальн", "бавегидо", "kalomine", "несуществующий");
+
+    private final List<String> words = new ArrayList<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (1, 'owner', 'owner@email.com')");
+
+        Random random = new Random(42);
+
+        words.addAll(TOOLS);
+        for (int i = 0; i < GENERATED_WORDS; i++) {
+            words.add(word(random));
+        }
+
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+
+        for (int i = 0; i < ITEMS; i++) {
+            String name = sentence(random, 2);
+            String description = sentence(random, 8);
+
+            batch.add(new Object[]{name, description, random.nextInt(10) > 0, name, description});
+
+            if (batch.size() == INSERT_BATCH_SIZE || i == ITEMS - 1) {
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO items (name, description, available, owner_id, name_normalized, "
+                                + "description_normalized) VALUES (?, ?, ?, 1, ?, ?)",
+                        batch);
+                batch.clear();
+            }
+        }
+
+        long started = System.nanoTime();
+        itemSearchIndex.rebuild();
+        log.info("Indexed {} items in {} ms", ITEMS, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Test
+    void compareSearchBackends() {
+        double like = measure("JPQL UPPER LIKE",
+                text -> new LikeItemSearchBackend(itemRepository).search(text, 0, 10).size());
+        double trigram = measure("Normalized LIKE",
+                text -> new TrigramItemSearchBackend(itemRepository).search(text, 0, 10).size());
+        double index = measure("Inverted index", text -> itemSearchIndex.search(text, 0, 10).size());
+
+        log.info("Search over {} items: like {} ms/query, normalized {} ms/query, index {} ms/query",
+                ITEMS,
+                String.format("%.3f", like),
+                String.format("%.3f", trigram),
+                String.format("%.3f", index));
+    }
+
+    private double measure(String name, Function<String, Integer> search) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            QUERIES.forEach(search::apply);
+        }
+
+        long hits = 0;
+        long started = System.nanoTime();
+
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            for (String query : QUERIES) {
+                hits += search.apply(query);
+            }
+        }
+
+        double perQuery = (System.nanoTime() - started) / 1_000_000.0 / (MEASURED_ROUNDS * QUERIES.size());
+
+        log.info("{}: {} ms/query, {} hits", name, String.format("%.3f", perQuery), hits);
+        assertFalse(hits == 0, name + " returned no results");
+
+        return perQuery;
+    }
+
+    private String sentence(Random random, int length) {
+        StringBuilder sentence = new StringBuilder();
+
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(words.get(random.nextInt(words.size())));
+        }
+
+        return sentence.toString();
+    }
+
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 2 + random.nextInt(3);
+
+        for (int i = 0; i < length; i++) {
+            word.append(SYLLABLES.get(random.nextInt(SYLLABLES.size())));
+        }
+
+        return word.toString();
+    }
+}
@@ -0,0 +1,157 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemSearchIndex itemSearchIndex;
+
+    private final ItemDocument drill = new ItemDocument(1L, "Дрель", "Простая дрель", true);
+
+    private final ItemDocument screwdriver = new ItemDocument(2L, "Отвертка", "Аккумуляторная отвертка", true);
+
+    private final ItemDocument batteryDrill = new ItemDocument(3L, "Дрель+", "Аккумуляторная дрель", true);
+
+    @BeforeEach
+    void setUp() {
+        when(itemRepository.findDocumentsAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(drill, screwdriver, batteryDrill));
+
+        itemSearchIndex = new ItemSearchIndex(itemRepository);
+        itemSearchIndex.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void searchShouldIgnoreCase() {
+        assertEquals(List.of(1L, 3L), itemSearchIndex.search("дРелЬ", 0, 10));
+    }
+
+    @Test
+    void searchShouldMatchWordPrefix() {
+        assertEquals(List.of(2L), itemSearchIndex.search("оТверТ", 0, 10));
+    }
+
+    @Test
+    void searchShouldMatchInsideWord() {
+        assertEquals(List.of(1L, 3L), itemSearchIndex.search("рель", 0, 10));
+        assertEquals(List.of(2L), itemSearchIndex.search("вертк", 0, 10));
+    }
+
+    @Test
+    void searchShouldMatchAcrossWordBoundary() {
+        assertEquals(List.of(3L), itemSearchIndex.search("ная дре", 0, 10));
+    }
+
+    @Test
+    void putShouldDropSuffixesOfReplacedDocument() {
+        itemSearchIndex.put(new ItemDocument(1L, "Молоток", "Большой молоток", true));
+
+        assertEquals(List.of(3L), itemSearchIndex.search("рель", 0, 10));
+        assertEquals(List.of(1L), itemSearchIndex.search("лото", 0, 10));
+    }
+
+    @Test
+    void searchShouldMatchAllWords() {
+        assertEquals(List.of(3L), itemSearchIndex.search("аккумуляторная дрель", 0, 10));
+        assertTrue(itemSearchIndex.search("дрель аккумуляторная", 0, 10).isEmpty());
+    }
+
+    @Test
+    void searchShouldApplyPagination() {
+        assertEquals(List.of(3L), itemSearchIndex.search("дрель", 1, 10));
+        assertEquals(List.of(1L), itemSearchIndex.search("дрель", 0, 1));
+    }
+
+    @Test
+    void searchShouldScanDocumentsWhenTextHasNoWords() {
+        assertEquals(List.of(3L), itemSearchIndex.search("+", 0, 10));
+        assertTrue(itemSearchIndex.search(" +", 0, 10).isEmpty());
+    }
+
+    @Test
+    void searchShouldReturnEmptyListWhenNothingMatches() {
+        assertTrue(itemSearchIndex.search("молоток", 0, 10).isEmpty());
+    }
+
+    @Test
+    void putShouldReplacePreviousDocument() {
+        itemSearchIndex.put(new ItemDocument(1L, "Молоток", "Большой молоток", true));
+
+        assertEquals(List.of(1L), itemSearchIndex.search("молоток", 0, 10));
+        assertEquals(List.of(3L), itemSearchIndex.search("дрель", 0, 10));
+    }
+
+    @Test
+    void putShouldRemoveUnavailableDocument() {
+        itemSearchIndex.put(new ItemDocument(2L, "Отвертка", "Аккумуляторная отвертка", false));
+
+        assertTrue(itemSearchIndex.search("отвертка", 0, 10).isEmpty());
+        assertEquals(List.of(3L), itemSearchIndex.search("аккумуляторная", 0, 10));
+    }
+
+    @Test
+    void putShouldApplyItemOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        itemSearchIndex.put(hammer());
+
+        assertTrue(itemSearchIndex.search("молоток", 0, 10).isEmpty());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(List.of(4L), itemSearchIndex.search("молоток", 0, 10));
+    }
+
+    @Test
+    void putShouldDropItemWhenTransactionRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        itemSearchIndex.put(hammer());
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertTrue(itemSearchIndex.search("молоток", 0, 10).isEmpty());
+    }
+
+    @Test
+    void putShouldApplyItemImmediatelyOutsideTransaction() {
+        itemSearchIndex.put(hammer());
+
+        assertEquals(List.of(4L), itemSearchIndex.search("молоток", 0, 10));
+    }
+
+    private static Item hammer() {
+        return Item.builder()
+                .id(4L)
+                .name("Молоток")
+                .description("Большой молоток")
+                .available(true)
+                .build();
+    }
+}
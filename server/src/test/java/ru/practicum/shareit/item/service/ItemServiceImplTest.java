@@ -2,7 +2,10 @@ package ru.practicum.shareit.item.service;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
@@ -12,29 +15,44 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import ru.practicum.shareit.booking.archive.ArchivedBookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.schedule.BookingInterval;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemBookingResponseDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.mapper.MapperComment;
 import ru.practicum.shareit.item.mapper.MapperItem;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemDetails;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchBackend;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.cache.UserIdCache;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.MapperUser;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,12 +63,20 @@ class ItemServiceImplTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private ArchivedBookingRepository archivedBookingRepository;
+
     @Mock
     private CommentRepository commentRepository;
 
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ItemSearchBackend itemSearchBackend;
+
+    @Mock
+    private UserIdCache userIdCache;
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -96,8 +122,8 @@ class ItemServiceImplTest {
 
     @Test
     void add() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
+        when(userRepository.getReferenceById(userDto.getId()))
+                .thenReturn(user);
         when(itemRepository.save(item))
                 .thenReturn(item);
 
@@ -105,6 +131,29 @@ class ItemServiceImplTest {
 
         assertEquals(actual.getName(), "name");
         assertEquals(actual.getDescription(), "description");
+        verify(itemSearchBackend).index(item);
+    }
+
+    @Test
+    void addAll() {
+        Item other = item.toBuilder()
+                .id(2L)
+                .name("other name")
+                .build();
+
+        when(userRepository.getReferenceById(userDto.getId()))
+                .thenReturn(user);
+        when(itemRepository.saveAll(List.of(item, other)))
+                .thenReturn(List.of(item, other));
+
+        List<ItemResponseDto> actual = itemService.addAll(
+                userDto.getId(),
+                List.of(MapperItem.toItemDto(item), MapperItem.toItemDto(other)));
+
+        assertEquals(actual.size(), 2);
+        assertEquals(actual.get(1).getName(), "other name");
+        verify(itemSearchBackend).index(item);
+        verify(itemSearchBackend).index(other);
     }
 
     @Test
@@ -138,39 +187,82 @@ class ItemServiceImplTest {
 
     @Test
     void findOneById() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
-        when(itemRepository.findById(item.getId()))
-                .thenReturn(Optional.of(item));
+        when(itemRepository.findDetailsById(eq(item.getId()), eq(user.getId()), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(itemDetails(true)));
+        when(commentRepository.findResponsesByItemId(item.getId()))
+                .thenReturn(List.of(MapperComment.toCommentResponseDto(comment)));
 
         ItemResponseDto actual = itemService.findOneById(user.getId(), item.getId());
 
-        assertEquals(itemResponseDto, actual);
+        assertEquals(itemResponseDto.toBuilder()
+                .lastBooking(ItemBookingResponseDto.builder().id(1L).bookerId(2L).build())
+                .comments(List.of(MapperComment.toCommentResponseDto(comment)))
+                .build(), actual);
+    }
+
+    @Test
+    void findOneByIdWhenUserNotFound() {
+        when(itemRepository.findDetailsById(eq(item.getId()), eq(user.getId()), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(itemDetails(false)));
+
+        NoSuchElementException exception = assertThrows(NoSuchElementException.class,
+                () -> itemService.findOneById(user.getId(), item.getId()));
+
+        assertEquals("User 1 not found", exception.getMessage());
+    }
+
+    @Test
+    void findOneByIdWhenItemNotFound() {
+        when(itemRepository.findDetailsById(eq(item.getId()), anyLong(), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+        when(userIdCache.exists(user.getId()))
+                .thenReturn(true);
+        when(userIdCache.exists(2L))
+                .thenReturn(false);
+
+        assertEquals("Item with id 1 not found", assertThrows(NoSuchElementException.class,
+                () -> itemService.findOneById(user.getId(), item.getId())).getMessage());
+        assertEquals("User 2 not found", assertThrows(NoSuchElementException.class,
+                () -> itemService.findOneById(2L, item.getId())).getMessage());
     }
 
     @Test
     void findAllByUserId() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
-        when(itemRepository.findAllByOwnerId(anyLong(), any(Pageable.class)))
-                .thenReturn(List.of(item));
-        when(commentRepository.findAllByItemIdIn(List.of(item.getId())))
-                .thenReturn(List.of(comment));
-        when(bookingRepository.findAllByItemInAndStatus(any(), any(BookingStatus.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(itemRepository.findDetailsByOwnerId(anyLong(), any(LocalDateTime.class), anyInt(), anyLong()))
+                .thenReturn(List.of(itemDetails(true)));
+        when(commentRepository.findResponsesByItemIdIn(List.of(item.getId())))
+                .thenReturn(List.of(MapperComment.toCommentResponseDto(comment)));
 
         List<ItemResponseDto> actual = itemService.findAllByUserId(user.getId(), 0, 10);
 
         assertEquals(1, actual.size());
         assertEquals(1, actual.get(0).getId());
         assertEquals("name", actual.get(0).getName());
+        assertEquals(1L, actual.get(0).getLastBooking().getId());
+        assertEquals(1, actual.get(0).getComments().size());
+    }
+
+    @Test
+    void findAllByUserIdShouldPassFromAsOffset() {
+        when(itemRepository.findDetailsByOwnerId(anyLong(), any(LocalDateTime.class), anyInt(), anyLong()))
+                .thenReturn(Collections.emptyList());
+
+        itemService.findAllByUserId(user.getId(), 3, 2);
+
+        verify(itemRepository).findDetailsByOwnerId(eq(user.getId()), any(LocalDateTime.class), eq(2), eq(3L));
+    }
+
+    @Test
+    void findAllByUserIdWhenUserHasNoItems() {
+        when(itemRepository.findDetailsByOwnerId(anyLong(), any(LocalDateTime.class), anyInt(), anyLong()))
+                .thenReturn(Collections.emptyList());
+
+        assertTrue(itemService.findAllByUserId(user.getId(), 0, 10).isEmpty());
     }
 
     @Test
     void search() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
-        when(itemRepository.searchAvailableItemsByNameAndDescription(anyString(), any(Pageable.class)))
+        when(itemSearchBackend.search(anyString(), anyInt(), anyInt()))
                 .thenReturn(List.of(item));
 
         List<ItemResponseDto> actual = itemService.search(user.getId(), "text", 0, 10);
@@ -190,8 +282,6 @@ class ItemServiceImplTest {
                 .author(commenter)
                 .build();
 
-        when(userRepository.findById(commenter.getId()))
-                .thenReturn(Optional.of(commenter));
         when(itemRepository.findById(item.getId()))
                 .thenReturn(Optional.of(item));
         when(bookingRepository.findFirstByBookerIdAndItemIdAndEndBefore(anyLong(), anyLong(), any(LocalDateTime.class)))
@@ -208,4 +298,121 @@ class ItemServiceImplTest {
 
         assertEquals(expected, actual);
     }
+
+    @Test
+    void addCommentWhenBookingIsArchivedShouldSaveComment() {
+        User commenter = user.toBuilder()
+                .id(2L)
+                .build();
+        Comment userComment = comment.toBuilder()
+                .id(null)
+                .author(commenter)
+                .build();
+
+        when(itemRepository.findById(item.getId()))
+                .thenReturn(Optional.of(item));
+        when(bookingRepository.findFirstByBookerIdAndItemIdAndEndBefore(anyLong(), anyLong(), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+        when(archivedBookingRepository.existsByBookerIdAndItemId(commenter.getId(), item.getId()))
+                .thenReturn(true);
+        when(commentRepository.save(any(Comment.class)))
+                .thenReturn(userComment);
+
+        CommentDto commentDto = CommentDto.builder()
+                .text("comment")
+                .build();
+
+        assertEquals(MapperComment.toCommentResponseDto(userComment),
+                itemService.addComment(commenter.getId(), commentDto, item.getId()));
+    }
+
+    @Test
+    void addCommentWhenUserNeverBookedItemShouldThrowIllegalStateException() {
+        when(itemRepository.findById(item.getId()))
+                .thenReturn(Optional.of(item));
+        when(bookingRepository.findFirstByBookerIdAndItemIdAndEndBefore(anyLong(), anyLong(), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+
+        CommentDto commentDto = CommentDto.builder()
+                .text("comment")
+                .build();
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> itemService.addComment(2L, commentDto, item.getId()));
+
+        assertEquals("User 2 not booked 1", exception.getMessage());
+    }
+
+    private ItemDetails itemDetails(boolean userExists) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", item.getId());
+        row.put("name", item.getName());
+        row.put("description", item.getDescription());
+        row.put("available", item.getAvailable());
+        row.put("userExists", userExists);
+        row.put("lastBookingId", 1L);
+        row.put("lastBookerId", 2L);
+
+        return new SpelAwareProxyProjectionFactory().createProjection(ItemDetails.class, row);
+    }
+
+    @Test
+    void findAvailabilityShouldMergeBusyIntervals() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        when(itemRepository.existsById(item.getId()))
+                .thenReturn(true);
+        when(bookingRepository.findIntervalsByItemIdBetween(
+                eq(item.getId()), anyCollection(), eq(from), eq(from.plusHours(24))))
+                .thenReturn(List.of(
+                        new BookingInterval(2L, 1L, from.plusHours(1), from.plusHours(2)),
+                        new BookingInterval(3L, 1L, from.plusHours(4), from.plusHours(8)),
+                        new BookingInterval(4L, 1L, from.plusHours(5), from.plusHours(6)),
+                        new BookingInterval(5L, 1L, from.plusHours(20), from.plusHours(30))));
+        when(archivedBookingRepository.findIntervalsByItemIdBetween(item.getId(), from, from.plusHours(24)))
+                .thenReturn(List.of(new BookingInterval(1L, 1L, from.minusHours(2), from.plusHours(1))));
+
+        ItemAvailabilityDto actual = itemService.findAvailability(user.getId(), item.getId(), from, from.plusHours(24));
+
+        assertEquals(List.of(
+                new AvailabilityIntervalDto(from, from.plusHours(2)),
+                new AvailabilityIntervalDto(from.plusHours(4), from.plusHours(8)),
+                new AvailabilityIntervalDto(from.plusHours(20), from.plusHours(24))), actual.getBusy());
+        assertEquals(List.of(
+                new AvailabilityIntervalDto(from.plusHours(2), from.plusHours(4)),
+                new AvailabilityIntervalDto(from.plusHours(8), from.plusHours(20))), actual.getFree());
+    }
+
+    @Test
+    void findAvailabilityWhenItemIsNotBooked() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        when(itemRepository.existsById(item.getId()))
+                .thenReturn(true);
+        when(bookingRepository.findIntervalsByItemIdBetween(
+                eq(item.getId()), anyCollection(), eq(from), eq(from.plusHours(1))))
+                .thenReturn(Collections.emptyList());
+
+        ItemAvailabilityDto actual = itemService.findAvailability(user.getId(), item.getId(), from, from.plusHours(1));
+
+        assertTrue(actual.getBusy().isEmpty());
+        assertEquals(List.of(new AvailabilityIntervalDto(from, from.plusHours(1))), actual.getFree());
+    }
+
+    @Test
+    void findAvailabilityShouldValidateRequest() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        doThrow(new NoSuchElementException("User 2 not found"))
+                .when(userIdCache).require(2L);
+        when(itemRepository.existsById(anyLong()))
+                .thenAnswer(invocation -> invocation.getArgument(0, Long.class) == 1L);
+
+        assertThrows(NoSuchElementException.class,
+                () -> itemService.findAvailability(2L, 1L, from, from.plusHours(1)));
+        assertThrows(NoSuchElementException.class,
+                () -> itemService.findAvailability(1L, 2L, from, from.plusHours(1)));
+        assertThrows(IllegalStateException.class,
+                () -> itemService.findAvailability(1L, 1L, from, from));
+    }
 }
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.metrics;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JdbcMetricsDataSourceTest {
+    private final JdbcMetricsDataSource dataSource = new JdbcMetricsDataSource(
+            new DriverManagerDataSource("jdbc:h2:mem:jdbc-metrics", "test", "test"));
+
+    @AfterEach
+    void tearDown() {
+        JdbcMetricsDataSource.stop();
+    }
+
+    @Test
+    void statementsAndRowsShouldBeCountedForCurrentRequest() throws SQLException {
+        JdbcMetricsDataSource.JdbcUsage usage = JdbcMetricsDataSource.start();
+
+        try (Connection connection = dataSource.getConnection("test", "test")) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT * FROM SYSTEM_RANGE(1, 3)")) {
+                while (resultSet.next()) {
+                    assertTrue(resultSet.getLong(1) > 0);
+                }
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement("SELECT ? FROM DUAL")) {
+                statement.setLong(1, 1L);
+                statement.execute();
+
+                try (ResultSet resultSet = statement.getResultSet()) {
+                    assertTrue(resultSet.next());
+                }
+            }
+
+            try (CallableStatement statement = connection.prepareCall("SELECT 1 FROM DUAL")) {
+                assertEquals(statement, statement);
+                assertFalse(statement.equals(null));
+                statement.executeQuery().close();
+            }
+
+            assertThrows(SQLException.class, () -> connection.createStatement().executeQuery("SELECT * FROM missing"));
+        }
+
+        assertEquals(4, usage.getStatements());
+        assertEquals(4, usage.getRows());
+    }
+
+    @Test
+    void workOutsideRequestShouldNotBeCounted() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT 1 FROM DUAL")) {
+            assertTrue(resultSet.next());
+        }
+
+        JdbcMetricsDataSource.JdbcUsage usage = JdbcMetricsDataSource.start();
+
+        assertEquals(0, usage.getStatements());
+        assertEquals(0, usage.getRows());
+    }
+}
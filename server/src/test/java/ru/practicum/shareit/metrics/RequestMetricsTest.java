@@ -0,0 +1,93 @@
+package ru.practicum.shareit.metrics;
+
+import java.time.LocalDateTime;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.headers.WithUserHeaderID;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class RequestMetricsTest implements WithUserHeaderID {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void requestsShouldRecordLatencyAndJdbcUsagePerEndpoint() throws Exception {
+        Long owner = userService.add(UserDto.builder().name("owner").email("owner@email.com").build()).getId();
+        Long booker = userService.add(UserDto.builder().name("booker").email("booker@email.com").build()).getId();
+        Long itemId = itemService.add(owner, ItemDto.builder()
+                .name("drill")
+                .description("description")
+                .available(true)
+                .build()).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        bookingService.add(booker, BookingDto.builder().itemId(itemId).start(start).end(start.plusDays(1)).build());
+
+        mockMvc.perform(get("/bookings").header(HEADER_USER_ID, booker))
+                .andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.get(JdbcMetricsFilter.STATEMENTS)
+                .tags("method", "GET", "uri", "/bookings")
+                .summary();
+        DistributionSummary rows = meterRegistry.get(JdbcMetricsFilter.ROWS)
+                .tags("method", "GET", "uri", "/bookings")
+                .summary();
+
+        assertEquals(1, statements.count());
+        assertEquals(2, statements.totalAmount());
+        assertEquals(1, rows.totalAmount());
+
+        Timer service = meterRegistry.get(ServiceTimingAspect.METRIC)
+                .tags("service", "BookingServiceImpl", "method", "findAllByBookerId", "exception", "none")
+                .timer();
+        Timer endpoint = meterRegistry.get("http.server.requests")
+                .tags("uri", "/bookings")
+                .timer();
+
+        assertEquals(1, service.count());
+        assertEquals(3, endpoint.takeSnapshot().percentileValues().length);
+    }
+
+    @Test
+    void failedServiceCallsShouldBeTaggedWithException() throws Exception {
+        mockMvc.perform(get("/users/{userId}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+
+        assertEquals(1, meterRegistry.get(ServiceTimingAspect.METRIC)
+                .tags("service", "UserServiceImpl", "method", "findOneById", "exception", "NoSuchElementException")
+                .timer()
+                .count());
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffsetPageRequestTest {
+    private final Sort sort = Sort.by("id");
+
+    @Test
+    void offsetShouldNotBeRoundedToPageBoundary() {
+        Pageable pageable = OffsetPageRequest.of(3, 2, sort);
+
+        assertEquals(3, pageable.getOffset());
+        assertEquals(2, pageable.getPageSize());
+        assertEquals(1, pageable.getPageNumber());
+        assertEquals(sort, pageable.getSort());
+        assertTrue(pageable.hasPrevious());
+    }
+
+    @Test
+    void navigationShouldMoveByPageSize() {
+        Pageable pageable = OffsetPageRequest.of(3, 2, sort);
+
+        assertEquals(OffsetPageRequest.of(5, 2, sort), pageable.next());
+        assertEquals(OffsetPageRequest.of(1, 2, sort), pageable.previousOrFirst());
+        assertEquals(OffsetPageRequest.of(0, 2, sort), pageable.previousOrFirst().previousOrFirst());
+        assertEquals(OffsetPageRequest.of(0, 2, sort), pageable.first());
+        assertEquals(OffsetPageRequest.of(4, 2, sort), pageable.withPage(2));
+        assertFalse(pageable.first().hasPrevious());
+        assertEquals(pageable.first(), pageable.first().previousOrFirst());
+    }
+
+    @Test
+    void invalidArgumentsShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> OffsetPageRequest.of(-1, 2, sort));
+        assertThrows(IllegalArgumentException.class, () -> OffsetPageRequest.of(0, 0, sort));
+    }
+}
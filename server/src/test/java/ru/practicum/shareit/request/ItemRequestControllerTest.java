@@ -69,7 +69,7 @@ class ItemRequestControllerTest implements WithUserHeaderID {
     @Test
     @SneakyThrows
     void findAllByRequesterId() {
-        when(requestService.findAllByRequesterId(user.getId()))
+        when(requestService.findAllByRequesterId(user.getId(), 0, 10))
                 .thenReturn(List.of(requestResponseDto));
 
         String result = mockMvc.perform(get("/requests")
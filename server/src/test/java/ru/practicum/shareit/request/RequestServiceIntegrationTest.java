@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,12 +41,33 @@ public class RequestServiceIntegrationTest {
         UserDto addedUser = userService.add(userDto);
         requestService.add(addedUser.getId(), requestDto);
 
-        List<ItemRequestResponseDto> actual = requestService.findAllByRequesterId(addedUser.getId());
+        List<ItemRequestResponseDto> actual = requestService.findAllByRequesterId(addedUser.getId(), 0, 10);
 
         assertEquals(1, actual.size());
         assertEquals("request description", actual.get(0).getDescription());
     }
 
+    @Test
+    void paginationShouldStartAtFromWhenNotMultipleOfSize() {
+        Long requesterId = userService.add(userDto).getId();
+        Long otherId = userService.add(UserDto.builder()
+                .name("other")
+                .email("other@email.com")
+                .build()).getId();
+
+        for (int i = 0; i < 6; i++) {
+            requestService.add(requesterId, ItemRequestDto.builder()
+                    .description("request " + i)
+                    .build());
+        }
+
+        List<Long> all = ids(requestService.findAllByRequesterId(requesterId, 0, 10));
+
+        assertEquals(6, all.size());
+        assertEquals(all.subList(3, 5), ids(requestService.findAllByRequesterId(requesterId, 3, 2)));
+        assertEquals(all.subList(3, 5), ids(requestService.findAllById(otherId, 3, 2)));
+    }
+
     @Test
     void getInvalidRequest() {
         Long requestId = 5L;
@@ -53,4 +75,10 @@ public class RequestServiceIntegrationTest {
         assertThrows(RuntimeException.class,
                         () -> requestService.findById(userDto.getId(), requestId));
     }
+
+    private static List<Long> ids(List<ItemRequestResponseDto> requests) {
+        return requests.stream()
+                .map(ItemRequestResponseDto::getId)
+                .collect(Collectors.toList());
+    }
 }
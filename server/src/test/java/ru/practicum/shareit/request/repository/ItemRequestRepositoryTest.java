@@ -9,8 +9,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.cache.EntityCacheConfig;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
@@ -18,6 +20,7 @@ import ru.practicum.shareit.user.User;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
+@Import(EntityCacheConfig.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
 class ItemRequestRepositoryTest {
     @Autowired
@@ -74,7 +77,7 @@ class ItemRequestRepositoryTest {
 
     @Test
     void findAllByRequesterId() {
-        List<ItemRequest> requests = requestRepository.findAllByRequesterId(1L);
+        List<ItemRequest> requests = requestRepository.findAllByRequesterId(1L, PageRequest.ofSize(5));
 
         assertEquals(requests.size(), 1);
         assertEquals(requests.get(0).getDescription(), "request description");
@@ -5,22 +5,27 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.mapper.MapperItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.cache.UserIdCache;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +36,11 @@ public class ItemRequestServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private UserIdCache userIdCache;
     @InjectMocks
     private ItemRequestServiceImpl requestService;
 
@@ -46,6 +56,7 @@ public class ItemRequestServiceImplTest {
             .description("description")
             .available(true)
             .owner(user)
+            .request(ItemRequest.builder().id(1L).build())
             .build();
 
     private final ItemRequest request = ItemRequest.builder()
@@ -56,8 +67,6 @@ public class ItemRequestServiceImplTest {
 
     @Test
     void add() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(requestRepository.save(any(ItemRequest.class)))
                 .thenReturn(request);
 
@@ -73,21 +82,28 @@ public class ItemRequestServiceImplTest {
 
     @Test
     void findAllByRequesterId() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
-        when(requestRepository.findAllByRequesterId(user.getId()))
+        when(requestRepository.findAllByRequesterId(anyLong(), any(Pageable.class)))
                 .thenReturn(List.of(request));
+        when(itemRepository.findAllByRequestIdInOrderById(List.of(request.getId())))
+                .thenReturn(List.of(item));
 
         List<ItemRequestResponseDto> expected = List.of(MapperItemRequest.toRequestResponseDto(request));
-        List<ItemRequestResponseDto> actual = requestService.findAllByRequesterId(user.getId());
+        List<ItemRequestResponseDto> actual = requestService.findAllByRequesterId(user.getId(), 0, 10);
 
         assertEquals(expected, actual);
     }
 
+    @Test
+    void findAllByRequesterIdShouldNotLoadItemsForEmptyPage() {
+        when(requestRepository.findAllByRequesterId(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        assertTrue(requestService.findAllByRequesterId(user.getId(), 10, 10).isEmpty());
+        verify(itemRepository, never()).findAllByRequestIdInOrderById(any());
+    }
+
     @Test
     void findById() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
         when(requestRepository.findById(request.getId()))
                 .thenReturn(Optional.of(request));
 
@@ -99,12 +115,15 @@ public class ItemRequestServiceImplTest {
 
     @Test
     void findAllById() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
-        when(requestRepository.findAllByRequester_IdNot(anyLong(), any(PageRequest.class)))
-                .thenReturn(List.of(request));
-
-        List<ItemRequestResponseDto> expectedRequestsDto = List.of(MapperItemRequest.toRequestResponseDto(request));
+        ItemRequest unanswered = request.toBuilder().id(2L).build();
+        when(requestRepository.findAllByRequester_IdNot(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(request, unanswered));
+        when(itemRepository.findAllByRequestIdInOrderById(List.of(1L, 2L)))
+                .thenReturn(List.of(item));
+
+        List<ItemRequestResponseDto> expectedRequestsDto = List.of(
+                MapperItemRequest.toRequestResponseDto(request),
+                MapperItemRequest.toRequestResponseDto(unanswered, List.of()));
         List<ItemRequestResponseDto> actualRequestsDto = requestService.findAllById(user.getId(), 0, 10);
 
         assertEquals(expectedRequestsDto, actualRequestsDto);
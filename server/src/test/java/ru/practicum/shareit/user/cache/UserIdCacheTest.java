@@ -0,0 +1,199 @@
+package ru.practicum.shareit.user.cache;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdCacheTest {
+    @Mock
+    private UserRepository userRepository;
+
+    private MeterRegistry meterRegistry;
+
+    private UserIdCache userIdCache;
+
+    @BeforeEach
+    void setUp() {
+        userIdCache = newCache(Duration.ofMinutes(1), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void existsShouldLoadUserOnce() {
+        when(userRepository.existsById(1L))
+                .thenReturn(true);
+
+        assertTrue(userIdCache.exists(1L));
+        assertTrue(userIdCache.exists(1L));
+
+        verify(userRepository, times(1)).existsById(1L);
+        assertEquals(1.0, requests("hit"));
+        assertEquals(1.0, requests("miss"));
+        assertEquals(1.0, size("known"));
+    }
+
+    @Test
+    void existsShouldReloadExpiredUser() {
+        userIdCache = newCache(Duration.ZERO, Duration.ofMinutes(1));
+
+        when(userRepository.existsById(1L))
+                .thenReturn(true, false);
+
+        assertTrue(userIdCache.exists(1L));
+        assertFalse(userIdCache.exists(1L));
+        assertEquals(0.0, size("known"));
+    }
+
+    @Test
+    void existsShouldBoundKnownUsers() {
+        userIdCache.add(1L);
+        userIdCache.add(2L);
+        userIdCache.add(3L);
+
+        assertEquals(2.0, size("known"));
+    }
+
+    @Test
+    void existsShouldNotCacheUserRemovedDuringLookup() {
+        when(userRepository.existsById(1L))
+                .thenAnswer(invocation -> {
+                    userIdCache.remove(1L);
+
+                    return true;
+                });
+
+        assertTrue(userIdCache.exists(1L));
+        assertEquals(0.0, size("known"));
+        assertTrue(userIdCache.exists(1L));
+        verify(userRepository, times(2)).existsById(1L);
+    }
+
+    @Test
+    void existsShouldNotCacheUserDeletedBeforeLookupCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            userIdCache.remove(1L);
+
+            when(userRepository.existsById(1L))
+                    .thenAnswer(invocation -> {
+                        TransactionSynchronizationManager.getSynchronizations()
+                                .forEach(TransactionSynchronization::afterCommit);
+
+                        return true;
+                    });
+
+            assertTrue(userIdCache.exists(1L));
+            assertEquals(0.0, size("known"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void existsShouldCacheMissingUser() {
+        when(userRepository.existsById(2L))
+                .thenReturn(false);
+
+        assertFalse(userIdCache.exists(2L));
+        assertThrows(NoSuchElementException.class, () -> userIdCache.require(2L));
+
+        verify(userRepository, times(1)).existsById(2L);
+        assertEquals(1.0, requests("negative-hit"));
+        assertEquals(1.0, size("missing"));
+    }
+
+    @Test
+    void existsShouldReloadExpiredMissingUser() {
+        userIdCache = newCache(Duration.ofMinutes(1), Duration.ZERO);
+
+        when(userRepository.existsById(2L))
+                .thenReturn(false, true);
+
+        assertFalse(userIdCache.exists(2L));
+        assertTrue(userIdCache.exists(2L));
+        assertEquals(0.0, size("missing"));
+    }
+
+    @Test
+    void existsShouldBoundMissingUsers() {
+        assertFalse(userIdCache.exists(1L));
+        assertFalse(userIdCache.exists(2L));
+        assertFalse(userIdCache.exists(3L));
+
+        assertEquals(2.0, size("missing"));
+    }
+
+    @Test
+    void addShouldReplaceMissingUser() {
+        when(userRepository.existsById(1L))
+                .thenReturn(false);
+
+        assertFalse(userIdCache.exists(1L));
+        userIdCache.add(1L);
+        userIdCache.require(1L);
+
+        verify(userRepository, times(1)).existsById(1L);
+        assertEquals(0.0, size("missing"));
+    }
+
+    @Test
+    void removeShouldForgetUser() {
+        userIdCache.add(1L);
+        userIdCache.remove(1L);
+
+        assertFalse(userIdCache.exists(1L));
+        verify(userRepository).existsById(1L);
+    }
+
+    @Test
+    void addShouldWaitForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            userIdCache.add(1L);
+
+            assertEquals(0.0, size("known"));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+
+            assertEquals(1.0, size("known"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // Each cache gets its own registry, otherwise the size gauges stay bound to the first instance
+    private UserIdCache newCache(Duration ttl, Duration negativeTtl) {
+        meterRegistry = new SimpleMeterRegistry();
+
+        return new UserIdCache(userRepository, meterRegistry, ttl, 2, negativeTtl, 2);
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("shareit.user.id.cache.requests").tag("result", result).counter().count();
+    }
+
+    private double size(String type) {
+        return meterRegistry.get("shareit.user.id.cache.size").tag("type", type).gauge().value();
+    }
+}
@@ -11,6 +11,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.cache.UserIdCache;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.MapperUser;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -26,6 +27,9 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserIdCache userIdCache;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -85,6 +89,7 @@ class UserServiceImplTest {
 
         assertEquals(userDto, actual);
         verify(userRepository).save(user);
+        verify(userIdCache).add(user.getId());
     }
 
     @Test
@@ -113,5 +118,6 @@ class UserServiceImplTest {
         userService.deleteById(userId);
 
         verify(userRepository, times(1)).deleteById(userId);
+        verify(userIdCache).remove(userId);
     }
 }